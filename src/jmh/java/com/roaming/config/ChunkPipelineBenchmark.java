@@ -0,0 +1,139 @@
+package com.roaming.config;
+
+import ch.qos.logback.classic.Logger;
+import com.roaming.domain.RoamingData;
+import com.roaming.domain.RoamingStatusEntity;
+import com.roaming.job.processor.RoamingDataProcessor;
+import com.roaming.job.reader.RoamingCsvLineMapper;
+import com.roaming.job.writer.RoamingStatusPreparedStatementSetter;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 파일 읽기 -> {@link RoamingDataProcessor} -> JdbcBatchItemWriter(batch.writer.mode=jdbc) 를 chunk 마다 트랜잭션으로
+ * 커밋하는 Step 한 번의 비용 (H2 메모리 DB). ChunkOrientedTasklet 과 같은 순서로 읽기/처리/쓰기/커밋한다.
+ * JobRepository 갱신 비용은 포함하지 않는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ChunkPipelineBenchmark {
+
+    private static final int LINES = 10_000;
+
+    @Param({"100", "500", "2000"})
+    private int chunkSize;
+
+    private Path inputFile;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private RoamingDataProcessor processor;
+    private JdbcBatchItemWriter<RoamingStatusEntity> writer;
+
+    @Setup
+    public void setUp() throws Exception {
+        ((Logger) LoggerFactory.getLogger("com.roaming")).setLevel(ch.qos.logback.classic.Level.INFO);
+
+        inputFile = Files.createTempFile("roaming-chunk-benchmark", ".csv");
+        try (BufferedWriter out = Files.newBufferedWriter(inputFile, StandardCharsets.UTF_8)) {
+            out.write("userId,deviceId,location,timestamp,status\n");
+            for (int i = 0; i < LINES; i++) {
+                // RoamingDataProcessor 의 예외/지연 대상(DEV003, DEV007)이 나오지 않는 기기 ID
+                out.write(String.format("%d,DEV%06d,Seoul,2024-01-15T10:%02d:%02d,CONNECTED\n",
+                        1000 + i % 100, i * 10 + 1, i / 60 % 60, i % 60));
+            }
+        }
+
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:chunk-benchmark;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS roaming_status ("
+                + "id BIGINT AUTO_INCREMENT PRIMARY KEY, user_id BIGINT NOT NULL, device_id VARCHAR(50) NOT NULL, "
+                + "location VARCHAR(100), timestamp TIMESTAMP NOT NULL, status VARCHAR(20) NOT NULL, created_at TIMESTAMP)");
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        processor = new RoamingDataProcessor();
+        writer = new JdbcBatchItemWriterBuilder<RoamingStatusEntity>()
+                .dataSource(dataSource)
+                .sql(RoamingStatusPreparedStatementSetter.INSERT_SQL)
+                .itemPreparedStatementSetter(new RoamingStatusPreparedStatementSetter())
+                .build();
+        writer.afterPropertiesSet();
+    }
+
+    @Setup(Level.Invocation)
+    public void truncate() {
+        jdbcTemplate.execute("TRUNCATE TABLE roaming_status");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        jdbcTemplate.execute("DROP TABLE roaming_status");
+        Files.deleteIfExists(inputFile);
+    }
+
+    @Benchmark
+    public long runStep() throws Exception {
+        FlatFileItemReader<RoamingData> reader = new FlatFileItemReaderBuilder<RoamingData>()
+                .name("chunkPipelineBenchmarkReader")
+                .resource(new FileSystemResource(inputFile))
+                .lineMapper(new RoamingCsvLineMapper())
+                .linesToSkip(1)
+                .saveState(false)
+                .build();
+        reader.open(new ExecutionContext());
+        try {
+            long written = 0;
+            int size;
+            do {
+                size = transactionTemplate.execute(status -> runChunk(reader));
+                written += size;
+            } while (size == chunkSize);
+            return written;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private int runChunk(FlatFileItemReader<RoamingData> reader) {
+        try {
+            Chunk<RoamingStatusEntity> chunk = new Chunk<>();
+            RoamingData item;
+            for (int i = 0; i < chunkSize && (item = reader.read()) != null; i++) {
+                chunk.add(processor.process(item));
+            }
+            if (!chunk.isEmpty()) {
+                writer.write(chunk);
+            }
+            return chunk.size();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
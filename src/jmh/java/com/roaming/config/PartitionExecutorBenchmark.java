@@ -0,0 +1,97 @@
+package com.roaming.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 플랫폼 스레드 풀과 가상 스레드 파티션 실행기 비교 ({@link BatchConfig#taskExecutor()} 와 같은 설정).
+ * 각 파티션은 chunk 마다 커넥션(크기 10 인 풀을 Semaphore 로 모델링)을 점유한 채 처리/쓰기 지연만큼 대기한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PartitionExecutorBenchmark {
+
+    private static final int CONNECTION_POOL_SIZE = 10;
+    private static final int CHUNKS_PER_PARTITION = 20;
+    private static final long CHUNK_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    @Param({"platform", "virtual"})
+    private String executorType;
+
+    @Param({"4", "32", "128"})
+    private int partitions;
+
+    private TaskExecutor executor;
+    private Semaphore connections;
+
+    @Setup
+    public void setUp() {
+        connections = new Semaphore(CONNECTION_POOL_SIZE);
+        if ("virtual".equals(executorType)) {
+            SimpleAsyncTaskExecutor virtual = new SimpleAsyncTaskExecutor("partition-vt-");
+            virtual.setVirtualThreads(true);
+            virtual.setConcurrencyLimit(CONNECTION_POOL_SIZE - 1);
+            executor = virtual;
+            return;
+        }
+
+        int gridSize = Runtime.getRuntime().availableProcessors();
+        ThreadPoolTaskExecutor platform = new ThreadPoolTaskExecutor();
+        platform.setCorePoolSize(gridSize);
+        platform.setMaxPoolSize(gridSize);
+        platform.setThreadNamePrefix("partition-");
+        platform.initialize();
+        executor = platform;
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (executor instanceof ThreadPoolTaskExecutor platform) {
+            platform.shutdown();
+        } else if (executor instanceof SimpleAsyncTaskExecutor virtual) {
+            virtual.close();
+        }
+    }
+
+    @Benchmark
+    public void runPartitions() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(partitions);
+        for (int i = 0; i < partitions; i++) {
+            executor.execute(() -> {
+                try {
+                    runPartition();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    private void runPartition() {
+        for (int chunk = 0; chunk < CHUNKS_PER_PARTITION; chunk++) {
+            connections.acquireUninterruptibly();
+            try {
+                LockSupport.parkNanos(CHUNK_LATENCY_NANOS);
+            } finally {
+                connections.release();
+            }
+        }
+    }
+}
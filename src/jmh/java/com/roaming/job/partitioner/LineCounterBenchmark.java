@@ -0,0 +1,77 @@
+package com.roaming.job.partitioner;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 기존 BufferedReader 기반 라인 카운트와 {@link LineCounter} 비교.
+ * 100M 라인 파일은 약 5GB 이므로 임시 디렉터리 여유 공간을 확인하고 실행한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LineCounterBenchmark {
+
+    @Param({"1000000", "10000000", "100000000"})
+    private int lines;
+
+    private Path file;
+
+    @Setup
+    public void createFile() throws IOException {
+        file = Files.createTempFile("line-counter-bench-", ".csv");
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 20)) {
+            out.write("userId,deviceId,location,timestamp,status\n".getBytes(StandardCharsets.UTF_8));
+            for (int i = 1; i < lines; i++) {
+                String line = (1000 + i % 9000) + ",DEV" + (i % 1000) + ",Seoul,2024-01-15T10:30:00,CONNECTED\n";
+                out.write(line.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @TearDown
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int bufferedReader() throws IOException {
+        int lineCount = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(file)))) {
+            while (reader.readLine() != null) {
+                lineCount++;
+            }
+        }
+        return lineCount;
+    }
+
+    @Benchmark
+    public long mappedParallel() throws IOException {
+        return LineCounter.countLines(file);
+    }
+
+    @Benchmark
+    public long streaming() throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return LineCounter.countLines(in);
+        }
+    }
+}
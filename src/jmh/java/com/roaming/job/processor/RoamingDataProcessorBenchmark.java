@@ -0,0 +1,55 @@
+package com.roaming.job.processor;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.roaming.domain.RoamingData;
+import com.roaming.domain.RoamingStatusEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link RoamingDataProcessor#process} 한 건의 비용과, 그중 RoamingStatusEntity 를 builder 로 만드는 비용.
+ * 운영 설정(application.yml)과 달리 com.roaming 로그 레벨을 INFO 로 두어 debug 로그 출력은 제외한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RoamingDataProcessorBenchmark {
+
+    private final LocalDateTime timestamp = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    private RoamingDataProcessor processor;
+    private RoamingData item;
+
+    @Setup
+    public void setUp() {
+        ((Logger) LoggerFactory.getLogger("com.roaming")).setLevel(Level.INFO);
+        processor = new RoamingDataProcessor();
+        item = new RoamingData(1001L, "DEV001", "Seoul", "2024-01-15T10:30:00", "CONNECTED");
+    }
+
+    @Benchmark
+    public RoamingStatusEntity process() throws Exception {
+        return processor.process(item);
+    }
+
+    @Benchmark
+    public RoamingStatusEntity buildEntity() {
+        return RoamingStatusEntity.builder()
+                .userId(item.getUserId())
+                .deviceId(item.getDeviceId())
+                .location(item.getLocation())
+                .timestamp(timestamp)
+                .status(RoamingStatusEntity.RoamingStatus.CONNECTED)
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.roaming.job.processor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ISO_LOCAL_DATE_TIME 파싱과 {@link RoamingTimestampParser} 고정 형식 파싱 비용 비교.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RoamingTimestampParserBenchmark {
+
+    private final String timestamp = "2024-01-15T10:30:00";
+
+    @Benchmark
+    public LocalDateTime isoFormatter() {
+        return LocalDateTime.parse(timestamp, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
+    @Benchmark
+    public LocalDateTime fixedLayout() {
+        return RoamingTimestampParser.parse(timestamp);
+    }
+}
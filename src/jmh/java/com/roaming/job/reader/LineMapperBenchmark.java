@@ -0,0 +1,50 @@
+package com.roaming.job.reader;
+
+import com.roaming.domain.RoamingData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BatchConfig.lineMapper() 의 두 경로 비교: DelimitedLineTokenizer + {@link RoamingDataFieldSetMapper} (batch.reader.parser=spring)
+ * 와 {@link RoamingCsvLineMapper} (batch.reader.parser=roaming). 라인 문자열 -> RoamingData 한 건의 비용이다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LineMapperBenchmark {
+
+    private final String line = "1001,DEV001,Seoul,2024-01-15T10:30:00,CONNECTED";
+
+    private DefaultLineMapper<RoamingData> springLineMapper;
+    private RoamingCsvLineMapper roamingLineMapper;
+
+    @Setup
+    public void setUp() {
+        DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
+        tokenizer.setNames("userId", "deviceId", "location", "timestamp", "status");
+        springLineMapper = new DefaultLineMapper<>();
+        springLineMapper.setLineTokenizer(tokenizer);
+        springLineMapper.setFieldSetMapper(new RoamingDataFieldSetMapper());
+
+        roamingLineMapper = new RoamingCsvLineMapper();
+    }
+
+    @Benchmark
+    public RoamingData spring() throws Exception {
+        return springLineMapper.mapLine(line, 1);
+    }
+
+    @Benchmark
+    public RoamingData roaming() {
+        return roamingLineMapper.mapLine(line, 1);
+    }
+}
@@ -0,0 +1,52 @@
+package com.roaming.job.reader;
+
+import com.roaming.domain.RoamingData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.transform.FieldSet;
+import org.springframework.validation.BindException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BeanWrapperFieldSetMapper 와 {@link RoamingDataFieldSetMapper} 의 FieldSet -> RoamingData 매핑 비용 비교.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RoamingDataFieldSetMapperBenchmark {
+
+    private FieldSet fieldSet;
+    private BeanWrapperFieldSetMapper<RoamingData> beanWrapperMapper;
+    private RoamingDataFieldSetMapper compiledMapper;
+
+    @Setup
+    public void setUp() throws Exception {
+        DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
+        tokenizer.setNames("userId", "deviceId", "location", "timestamp", "status");
+        fieldSet = tokenizer.tokenize("1001,DEV001,Seoul,2024-01-15T10:30:00,CONNECTED");
+
+        beanWrapperMapper = new BeanWrapperFieldSetMapper<>();
+        beanWrapperMapper.setTargetType(RoamingData.class);
+        beanWrapperMapper.afterPropertiesSet();
+
+        compiledMapper = new RoamingDataFieldSetMapper();
+    }
+
+    @Benchmark
+    public RoamingData beanWrapper() throws BindException {
+        return beanWrapperMapper.mapFieldSet(fieldSet);
+    }
+
+    @Benchmark
+    public RoamingData compiled() {
+        return compiledMapper.mapFieldSet(fieldSet);
+    }
+}
@@ -2,43 +2,102 @@ package com.roaming.config;
 
 import com.roaming.domain.RoamingData;
 import com.roaming.domain.RoamingStatusEntity;
+import com.roaming.job.listener.BatchMetricsListener;
+import com.roaming.job.listener.HighWaterMarkListener;
 import com.roaming.job.listener.JobCompletionListener;
+import com.roaming.job.listener.StageTimingListener;
 import com.roaming.job.listener.StepCompletionListener;
 import com.roaming.job.processor.RoamingDataProcessor;
+import com.roaming.job.remote.DatabasePartitionHandler;
 import com.roaming.job.processor.BasicRoamingDataProcessor;
+import com.roaming.job.reader.ByteRangeCsvItemReader;
+import com.roaming.job.reader.DecompressingResource;
+import com.roaming.job.reader.HighWaterMarks;
+import com.roaming.job.reader.RoamingCsvLineMapper;
+import com.roaming.job.reader.RoamingCsvParser;
+import com.roaming.job.reader.RoamingDataFieldSetMapper;
+import com.roaming.job.tail.RoamingFileTailer;
+import com.roaming.job.writer.DeviceLatestStatusItemWriter;
+import com.roaming.job.writer.PostgresCopyItemWriter;
+import com.roaming.job.writer.RoamingStatusPreparedStatementSetter;
+import com.roaming.job.writer.RoamingStatusUpsertItemWriter;
 import com.roaming.job.tasklet.FileArchiveTasklet;
 import com.roaming.job.tasklet.CompletionNotificationTasklet;
+import com.roaming.job.tasklet.PartitionMaintenanceTasklet;
 import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.integration.async.AsyncItemProcessor;
+import org.springframework.batch.integration.async.AsyncItemWriter;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemWriter;
 import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.support.CompositeItemWriter;
 import org.springframework.batch.item.database.JpaItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
 import org.springframework.batch.item.database.builder.JpaItemWriterBuilder;
 import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.MultiResourceItemReader;
+import org.springframework.batch.item.file.builder.MultiResourceItemReaderBuilder;
+import org.springframework.batch.item.file.LineMapper;
 import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
-import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.repeat.CompletionPolicy;
+import org.springframework.batch.repeat.policy.SimpleCompletionPolicy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
+import com.roaming.job.partitioner.ByteRangePartitioner;
 import com.roaming.job.partitioner.LineRangePartitioner;
+import com.roaming.job.partitioner.MultiFilePartitioner;
+import com.roaming.job.partitioner.WorkQueuePartitionHandler;
 import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.core.partition.PartitionHandler;
 import org.springframework.batch.core.partition.support.TaskExecutorPartitionHandler;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.batch.item.file.mapping.DefaultLineMapper;
 
 import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.Assert;
+import org.springframework.util.ResourceUtils;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Slf4j
 @Configuration
@@ -46,18 +105,120 @@ import org.springframework.transaction.PlatformTransactionManager;
 public class BatchConfig {
 
     private final JobRepository jobRepository;
+    private final JobExplorer jobExplorer;
     private final PlatformTransactionManager transactionManager;
     private final EntityManagerFactory entityManagerFactory;
+    private final DataSource dataSource;
     private final RoamingDataProcessor roamingDataProcessor;
     private final BasicRoamingDataProcessor basicRoamingDataProcessor;
     private final JobCompletionListener jobCompletionListener;
     private final StepCompletionListener stepCompletionListener;
+    private final HighWaterMarkListener highWaterMarkListener;
+    private final BatchMetricsListener batchMetricsListener;
+    private final StageTimingListener stageTimingListener;
     private final FileArchiveTasklet fileArchiveTasklet;
     private final CompletionNotificationTasklet completionNotificationTasklet;
+    private final PartitionMaintenanceTasklet partitionMaintenanceTasklet;
+
+    @Value("${batch.partition.mode:byte}")
+    private PartitionMode partitionMode;
+
+    @Value("${batch.partition.scheduling:static}")
+    private PartitionScheduling partitionScheduling;
+
+    // queue 스케줄링에서 워커 하나당 나눌 파티션 수
+    @Value("${batch.partition.queue.splits-per-worker:8}")
+    private int splitsPerWorker;
+
+    @Value("${batch.remote.role:local}")
+    private RemoteRole remoteRole;
+
+    @Value("${batch.remote.poll-interval-ms:1000}")
+    private long remotePollIntervalMillis;
+
+    @Value("${batch.remote.timeout-minutes:60}")
+    private long remoteTimeoutMinutes;
+
+    // heartbeat 가 이 시간보다 오래 없으면 파티션을 다시 큐에 넣는다. 0 이면 확인하지 않는다
+    @Value("${batch.remote.lease-seconds:60}")
+    private long remoteLeaseSeconds;
+
+    @Value("${batch.remote.max-requeues:1}")
+    private int remoteMaxRequeues;
+
+    @Value("${spring.batch.jdbc.table-prefix:BATCH_}")
+    private String batchTablePrefix;
+
+    @Value("${batch.reader.parser:roaming}")
+    private ReaderParser readerParser;
+
+    // 비어 있으면 classpath 의 샘플 파일 하나만 처리
+    @Value("${batch.input.location:}")
+    private String inputLocation;
+
+    @Value("${batch.input.file-pattern:*.csv}")
+    private String inputFilePattern;
+
+    @Value("${batch.input.min-split-size:1048576}")
+    private long minSplitSize;
+
+    @Value("${batch.incremental.enabled:false}")
+    private boolean incremental;
+
+    @Value("${batch.grid-size:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int gridSize;
+
+    // 0 이면 grid size 를 사용
+    @Value("${batch.executor.core-pool-size:0}")
+    private int corePoolSize;
+
+    @Value("${batch.executor.max-pool-size:0}")
+    private int maxPoolSize;
+
+    @Value("${batch.executor.queue-capacity:2147483647}")
+    private int queueCapacity;
+
+    @Value("${batch.executor.type:platform}")
+    private ExecutorType executorType;
+
+    // 0 이면 커넥션 풀 크기 - 1
+    @Value("${batch.executor.virtual.max-concurrency:0}")
+    private int virtualMaxConcurrency;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int connectionPoolSize;
+
+    @Value("${batch.processor.mode:sync}")
+    private ProcessorMode processorMode;
+
+    @Value("${batch.processor.async.pool-size:16}")
+    private int processorPoolSize;
 
+    @Value("${batch.processor.async.queue-capacity:100}")
+    private int processorQueueCapacity;
+
+    @Value("${batch.latest-status.enabled:false}")
+    private boolean latestStatusEnabled;
+
+    @Value("${batch.latest-status.cache-size:100000}")
+    private int latestStatusCacheSize;
+
+    @Value("${batch.timing.enabled:false}")
+    private boolean timingEnabled;
+
+    // fault tolerant Step 에서 허용하는 skip 건수. 넘으면 Step 이 실패한다
+    @Value("${batch.skip-limit:5}")
+    private int skipLimit;
+
+    /**
+     * 증분 동기화처럼 같은 인자로 주기적으로 실행할 수 있도록 모든 Job 에 RunIdIncrementer 를 둔다.
+     * 실패한 실행을 재시작하려면 그 실행의 run.id 를 Job 파라미터로 함께 넘긴다.
+     */
     @Bean
     public Job chunkSyncJob() {
         return new JobBuilder("chunkSyncJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .listener(highWaterMarkListener)
                 .start(chunkReadAndSaveStep())
                 .build();
     }
@@ -65,7 +226,9 @@ public class BatchConfig {
     @Bean
     public Job robustSyncJob() {
         return new JobBuilder("robustSyncJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
                 .listener(jobCompletionListener)
+                .listener(highWaterMarkListener)
                 .start(robustReadAndSaveStep())
                 .build();
     }
@@ -73,7 +236,9 @@ public class BatchConfig {
     @Bean
     public Job partitioningSyncJob() {
         return new JobBuilder("partitioningSyncJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
                 .listener(jobCompletionListener)
+                .listener(highWaterMarkListener)
                 .start(partitionedStep())
                 .build();
     }
@@ -81,13 +246,28 @@ public class BatchConfig {
     @Bean
     public Job fullSyncJob() {
         return new JobBuilder("fullSyncJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
                 .listener(jobCompletionListener)
+                .listener(highWaterMarkListener)
                 .start(fileArchiveStep())
+                .next(partitionMaintenanceStep())
                 .next(partitionedStep())
                 .next(completionNotificationStep())
                 .build();
     }
 
+    /**
+     * roaming_status 의 월별 파티션을 미리 만들고 보존 기간이 지난 파티션을 삭제한다. 스케줄러에서 단독으로 실행할 수 있다.
+     */
+    @Bean
+    public Job partitionMaintenanceJob() {
+        return new JobBuilder("partitionMaintenanceJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .listener(jobCompletionListener)
+                .start(partitionMaintenanceStep())
+                .build();
+    }
+
     @Bean
     public Step fileArchiveStep() {
         return new StepBuilder("fileArchiveStep", jobRepository)
@@ -95,6 +275,13 @@ public class BatchConfig {
                 .build();
     }
 
+    @Bean
+    public Step partitionMaintenanceStep() {
+        return new StepBuilder("partitionMaintenanceStep", jobRepository)
+                .tasklet(partitionMaintenanceTasklet, transactionManager)
+                .build();
+    }
+
     @Bean
     public Step completionNotificationStep() {
         return new StepBuilder("completionNotificationStep", jobRepository)
@@ -104,27 +291,30 @@ public class BatchConfig {
 
     @Bean
     public Step chunkReadAndSaveStep() {
-        return new StepBuilder("chunkReadAndSaveStep", jobRepository)
-                .<RoamingData, RoamingStatusEntity>chunk(10, transactionManager)
-                .reader(csvItemReader())
+        return withStageTiming(new StepBuilder("chunkReadAndSaveStep", jobRepository)
+                .<RoamingData, RoamingStatusEntity>chunk(chunkCompletionPolicy(null), transactionManager)
+                .reader(inputItemReader())
                 .processor(basicRoamingDataProcessor)
-                .writer(jpaItemWriter())
+                .writer(roamingStatusItemWriter(null))
+                .listener(batchMetricsListener))
                 .build();
     }
 
     @Bean
     public Step robustReadAndSaveStep() {
-        return new StepBuilder("robustReadAndSaveStep", jobRepository)
-                .<RoamingData, RoamingStatusEntity>chunk(10, transactionManager)
-                .reader(csvItemReader())
+        return withStageTiming(new StepBuilder("robustReadAndSaveStep", jobRepository)
+                .<RoamingData, RoamingStatusEntity>chunk(chunkCompletionPolicy(null), transactionManager)
+                .reader(inputItemReader())
                 .processor(roamingDataProcessor)
-                .writer(jpaItemWriter())
+                .writer(roamingStatusItemWriter(null))
                 .faultTolerant()
                 .skip(IllegalArgumentException.class)
-                .skipLimit(5)
+                .skipLimit(skipLimit)
                 .retry(TransientDataAccessException.class)
                 .retryLimit(3)
                 .listener(stepCompletionListener)
+                .listener(batchMetricsListener)
+                .listener(batchMetricsListener.retryListener()))
                 .build();
     }
 
@@ -138,33 +328,166 @@ public class BatchConfig {
 
     @Bean
     public Step workerStep() {
-        return new StepBuilder("workerStep", jobRepository)
-                .<RoamingData, RoamingStatusEntity>chunk(10, transactionManager)
-                .reader(partitionedCsvReader(null, null))
+        if (processorMode == ProcessorMode.ASYNC) {
+            return asyncWorkerStep();
+        }
+        return withStageTiming(new StepBuilder("workerStep", jobRepository)
+                .<RoamingData, RoamingStatusEntity>chunk(chunkCompletionPolicy(null), transactionManager)
+                .reader(workerItemReader())
                 .processor(roamingDataProcessor)
-                .writer(jpaItemWriter())
+                .writer(roamingStatusItemWriter(null))
+                .faultTolerant()
+                .skip(IllegalArgumentException.class)
+                .skipLimit(skipLimit)
+                .retry(TransientDataAccessException.class)
+                .retryLimit(3)
+                .listener(stepCompletionListener)
+                .listener(batchMetricsListener)
+                .listener(batchMetricsListener.retryListener()))
+                .build();
+    }
+
+    /**
+     * chunk 안의 item 을 processorTaskExecutor 에서 병렬로 처리하고, Writer 에서 Future 를 모아 한 번에 쓴다.
+     * 처리 중 발생한 예외는 AsyncItemWriter 가 Future 를 풀 때 다시 던지므로, IllegalArgumentException 은
+     * chunk 롤백 후 item 단위 scan 에서 skip 되고 (write skip 으로 집계), TransientDataAccessException 은 쓰기 단계에서 재시도된다.
+     * processor 는 상태가 없으므로 롤백 후 재처리하지 않고 이미 완료된 Future 를 재사용한다.
+     */
+    private Step asyncWorkerStep() {
+        return withStageTiming(new StepBuilder("workerStep", jobRepository)
+                .<RoamingData, Future<RoamingStatusEntity>>chunk(chunkCompletionPolicy(null), transactionManager)
+                .reader(workerItemReader())
+                .processor(asyncRoamingDataProcessor())
+                .writer(asyncRoamingStatusItemWriter())
                 .faultTolerant()
+                .processorNonTransactional()
                 .skip(IllegalArgumentException.class)
-                .skipLimit(5)
+                .skipLimit(skipLimit)
                 .retry(TransientDataAccessException.class)
                 .retryLimit(3)
                 .listener(stepCompletionListener)
+                .listener(batchMetricsListener)
+                .listener(batchMetricsListener.retryListener()))
                 .build();
     }
 
+    /**
+     * batch.timing.enabled 일 때만 단계별 시간 측정 리스너를 등록한다.
+     */
+    private <B extends SimpleStepBuilder<?, ?>> B withStageTiming(B builder) {
+        if (timingEnabled) {
+            builder.listener((StepExecutionListener) stageTimingListener);
+            builder.listener((ChunkListener) stageTimingListener);
+            builder.listener((ItemReadListener<Object>) stageTimingListener);
+            builder.listener((ItemProcessListener<Object, Object>) stageTimingListener);
+            builder.listener((ItemWriteListener<Object>) stageTimingListener);
+        }
+        return builder;
+    }
+
+    @Bean
+    public AsyncItemProcessor<RoamingData, RoamingStatusEntity> asyncRoamingDataProcessor() {
+        AsyncItemProcessor<RoamingData, RoamingStatusEntity> processor = new AsyncItemProcessor<>();
+        processor.setDelegate(roamingDataProcessor);
+        processor.setTaskExecutor(processorTaskExecutor());
+        return processor;
+    }
+
+    @Bean
+    public AsyncItemWriter<RoamingStatusEntity> asyncRoamingStatusItemWriter() {
+        AsyncItemWriter<RoamingStatusEntity> writer = new AsyncItemWriter<>();
+        writer.setDelegate(roamingStatusItemWriter(null));
+        return writer;
+    }
+
+    /**
+     * 모든 파티션이 공유하는 item 처리용 executor.
+     * 큐가 가득 차면 제출한 워커 스레드가 직접 처리해 Reader 가 처리 속도보다 앞서 나가지 않게 한다.
+     */
+    @Bean
+    public TaskExecutor processorTaskExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(processorPoolSize);
+        executor.setMaxPoolSize(processorPoolSize);
+        executor.setQueueCapacity(processorQueueCapacity);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("processor-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * chunk 크기는 Job 파라미터 chunkSize, 실행 인자 --chunkSize, batch.chunk-size 순으로 결정한다.
+     * Step 실행 시점에 결정되므로 재빌드 없이 실행마다 변경할 수 있다.
+     */
+    @Bean
+    @StepScope
+    public CompletionPolicy chunkCompletionPolicy(
+            @Value("#{jobParameters['chunkSize'] ?: ${chunkSize:${batch.chunk-size:10}}}") Integer chunkSize) {
+        return new SimpleCompletionPolicy(chunkSize);
+    }
+
     @Bean
     @StepScope
     public FlatFileItemReader<RoamingData> csvItemReader() {
         return new FlatFileItemReaderBuilder<RoamingData>()
                 .name("csvItemReader")
-                .resource(new ClassPathResource("data/roaming-data-sample.csv"))
-                .delimited()
-                .names("userId", "deviceId", "location", "timestamp", "status")
+                .resource(inputResource())
+                .lineMapper(lineMapper())
+                .linesToSkip(1)
+                .build();
+    }
+
+    /**
+     * batch.input.location 의 파일들을 순서대로 읽는다. 각 파일의 첫 라인(헤더)은 건너뛴다.
+     */
+    @Bean
+    @StepScope
+    public MultiResourceItemReader<RoamingData> multiFileCsvItemReader() {
+        FlatFileItemReader<RoamingData> delegate = new FlatFileItemReaderBuilder<RoamingData>()
+                .name("multiFileCsvItemReaderDelegate")
+                .lineMapper(lineMapper())
                 .linesToSkip(1)
-                .fieldSetMapper(new BeanWrapperFieldSetMapper<>() {{
-                    setTargetType(RoamingData.class);
-                }})
                 .build();
+
+        return new MultiResourceItemReaderBuilder<RoamingData>()
+                .name("multiFileCsvItemReader")
+                .resources(Arrays.stream(inputResources())
+                        .map(DecompressingResource::wrapIfCompressed)
+                        .toArray(Resource[]::new))
+                .delegate(delegate)
+                .build();
+    }
+
+    /**
+     * 증분 동기화에서는 파일마다 이전 실행이 처리한 위치부터 읽는다.
+     */
+    @Bean
+    @StepScope
+    public MultiResourceItemReader<RoamingData> incrementalCsvItemReader() {
+        ByteRangeCsvItemReader delegate = new ByteRangeCsvItemReader();
+        delegate.setName("incrementalCsvItemReaderDelegate");
+        configureParser(delegate);
+        delegate.setHighWaterMarks(highWaterMarks());
+
+        Resource[] resources = isMultiFileInput() ? inputResources() : new Resource[]{inputResource()};
+        return new MultiResourceItemReaderBuilder<RoamingData>()
+                .name("incrementalCsvItemReader")
+                .resources(Arrays.stream(resources)
+                        .map(DecompressingResource::wrapIfCompressed)
+                        .toArray(Resource[]::new))
+                .delegate(delegate)
+                .build();
+    }
+
+    private ItemStreamReader<RoamingData> inputItemReader() {
+        if (incremental) {
+            return incrementalCsvItemReader();
+        }
+        if (isMultiFileInput()) {
+            return multiFileCsvItemReader();
+        }
+        return csvItemReader();
     }
 
     @Bean
@@ -175,7 +498,7 @@ public class BatchConfig {
         
         FlatFileItemReader<RoamingData> reader = new FlatFileItemReader<>();
         reader.setName("partitionedCsvReader");
-        reader.setResource(new ClassPathResource("data/roaming-data-sample.csv"));
+        reader.setResource(inputResource());
         reader.setLineMapper(lineMapper());
         
         if (startLine != null && endLine != null) {
@@ -186,49 +509,402 @@ public class BatchConfig {
         return reader;
     }
 
-    private DefaultLineMapper<RoamingData> lineMapper() {
+    @Bean
+    @StepScope
+    public ByteRangeCsvItemReader byteRangeCsvReader(
+            @Value("#{stepExecutionContext[inputFile]}") String inputFile,
+            @Value("#{stepExecutionContext[startOffset]}") Long startOffset,
+            @Value("#{stepExecutionContext[endOffset]}") Long endOffset) {
+
+        ByteRangeCsvItemReader reader = new ByteRangeCsvItemReader();
+        reader.setName("byteRangeCsvReader");
+        reader.setResource(inputFile != null
+                ? DecompressingResource.wrapIfCompressed(new FileSystemResource(inputFile))
+                : inputResource());
+        configureParser(reader);
+
+        if (startOffset != null && endOffset != null) {
+            reader.setStartOffset(startOffset);
+            reader.setEndOffset(endOffset);
+        }
+
+        return reader;
+    }
+
+    private void configureParser(ByteRangeCsvItemReader reader) {
+        if (readerParser == ReaderParser.ROAMING) {
+            reader.setParser(new RoamingCsvParser());
+        } else {
+            reader.setLineMapper(lineMapper());
+        }
+    }
+
+    /**
+     * tail 모드도 batch.reader.parser 에 맞는 파서를 쓰도록 한다.
+     */
+    public void configureTailParser(RoamingFileTailer tailer) {
+        if (readerParser == ReaderParser.ROAMING) {
+            tailer.setParser(new RoamingCsvParser());
+        } else {
+            tailer.setLineMapper(lineMapper());
+        }
+    }
+
+    private ItemStreamReader<RoamingData> workerItemReader() {
+        if (isBytePartitioning()) {
+            return byteRangeCsvReader(null, null, null);
+        }
+        return partitionedCsvReader(null, null);
+    }
+
+    private LineMapper<RoamingData> lineMapper() {
+        if (readerParser == ReaderParser.ROAMING) {
+            return new RoamingCsvLineMapper();
+        }
+
         DefaultLineMapper<RoamingData> lineMapper = new DefaultLineMapper<>();
         DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
         tokenizer.setNames("userId", "deviceId", "location", "timestamp", "status");
         lineMapper.setLineTokenizer(tokenizer);
         
-        BeanWrapperFieldSetMapper<RoamingData> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
-        fieldSetMapper.setTargetType(RoamingData.class);
-        lineMapper.setFieldSetMapper(fieldSetMapper);
+        lineMapper.setFieldSetMapper(new RoamingDataFieldSetMapper());
         
         return lineMapper;
     }
 
+    /**
+     * partitionedStep 실행 시점에 입력 파일을 찾도록 Step scope 로 만든다.
+     */
     @Bean
+    @StepScope
     public Partitioner partitioner() {
-        Resource resource = new ClassPathResource("data/roaming-data-sample.csv");
-        return new LineRangePartitioner(resource, 4);
+        if (isMultiFileInput()) {
+            MultiFilePartitioner partitioner = new MultiFilePartitioner(Arrays.asList(inputResources()), minSplitSize);
+            partitioner.setHighWaterMarks(highWaterMarks());
+            return partitioner;
+        }
+
+        Resource resource = inputResource();
+        if (isBytePartitioning()) {
+            ByteRangePartitioner partitioner = new ByteRangePartitioner(resource, gridSize);
+            partitioner.setHighWaterMarks(highWaterMarks());
+            return partitioner;
+        }
+        if (incremental) {
+            log.warn("Incremental sync requires byte range partitioning, processing all lines");
+        }
+        return new LineRangePartitioner(resource, gridSize);
+    }
+
+    private Resource inputResource() {
+        return new ClassPathResource("data/roaming-data-sample.csv");
+    }
+
+    private boolean isMultiFileInput() {
+        return StringUtils.hasText(inputLocation);
+    }
+
+    /**
+     * batch.input.location 에 해당하는 입력 파일 목록을 이름순으로 반환한다.
+     * 디렉터리면 batch.input.file-pattern 과 그 압축 파일(.gz, .zst)을 찾고, 그 외에는 경로 패턴(예: /data/roaming/roaming-*.csv)이나
+     * Spring 리소스 패턴(file:, classpath*:)으로 해석한다. 반환되는 리소스는 압축을 풀지 않은 원본이다.
+     */
+    private Resource[] inputResources() {
+        String pattern = inputLocation.trim();
+        List<String> patterns = new ArrayList<>();
+        if (!pattern.startsWith(ResourcePatternResolver.CLASSPATH_ALL_URL_PREFIX) && !ResourceUtils.isUrl(pattern)) {
+            if (new File(pattern).isDirectory()) {
+                String filePattern = ResourceUtils.FILE_URL_PREFIX
+                        + StringUtils.trimTrailingCharacter(pattern, '/') + "/" + inputFilePattern;
+                patterns.add(filePattern);
+                patterns.add(filePattern + ".gz");
+                patterns.add(filePattern + ".zst");
+            } else {
+                patterns.add(ResourceUtils.FILE_URL_PREFIX + pattern);
+            }
+        } else {
+            patterns.add(pattern);
+        }
+
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        List<Resource> resources = new ArrayList<>();
+        for (String resourcePattern : patterns) {
+            try {
+                resources.addAll(Arrays.asList(resolver.getResources(resourcePattern)));
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to resolve input files: " + resourcePattern, e);
+            }
+        }
+
+        Resource[] inputs = resources.stream()
+                .filter(Resource::isReadable)
+                .sorted(Comparator.comparing(Resource::getDescription))
+                .toArray(Resource[]::new);
+        log.info("Found {} input files for {}", inputs.length, patterns);
+        return inputs;
+    }
+
+    /**
+     * 바이트 구간 분할은 파일 시스템의 파일에서만 가능하다.
+     * jar 내부 리소스처럼 seek 할 수 없는 입력은 라인 구간 분할로 대체한다.
+     * 여러 파일 입력과 증분 동기화는 항상 바이트 구간으로 분할한다.
+     */
+    private boolean isBytePartitioning() {
+        if (isMultiFileInput()) {
+            return true;
+        }
+        if (partitionMode != PartitionMode.BYTE && !incremental) {
+            return false;
+        }
+        if (!inputResource().isFile()) {
+            log.warn("Input resource is not a file, falling back to line range partitioning");
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 증분 동기화일 때 현재 Job ExecutionContext 에 기록된 파일별 처리 위치를 반환한다. 아니면 null 을 반환한다.
+     */
+    private HighWaterMarks highWaterMarks() {
+        if (!incremental) {
+            return null;
+        }
+        StepContext context = StepSynchronizationManager.getContext();
+        Assert.state(context != null, "Incremental sync requires an active step execution");
+        return new HighWaterMarks(context.getStepExecution().getJobExecution().getExecutionContext());
     }
 
+    /**
+     * 파티션 Step 실행 시점에 만들어지므로 Job 파라미터 gridSize 로 실행마다 파티션 수를 바꿀 수 있다.
+     */
     @Bean
+    @StepScope
     public PartitionHandler partitionHandler() {
+        int partitions = resolveGridSize();
+        if (remoteRole == RemoteRole.MANAGER) {
+            return databasePartitionHandler(partitions);
+        }
+        if (partitionScheduling == PartitionScheduling.QUEUE) {
+            return workQueuePartitionHandler(partitions);
+        }
+        log.info("Partitioning workerStep into {} partitions", partitions);
+
         TaskExecutorPartitionHandler partitionHandler = new TaskExecutorPartitionHandler();
         partitionHandler.setStep(workerStep());
         partitionHandler.setTaskExecutor(taskExecutor());
-        partitionHandler.setGridSize(4);
+        partitionHandler.setGridSize(partitions);
+        return partitionHandler;
+    }
+
+    /**
+     * 파티션 StepExecution 을 JobRepository 에 저장만 하고, 다른 JVM 의 worker(batch.remote.role=worker)가 실행하기를 기다린다.
+     */
+    private PartitionHandler databasePartitionHandler(int partitions) {
+        log.info("Partitioning workerStep into {} partitions for remote workers", partitions);
+
+        DatabasePartitionHandler partitionHandler = new DatabasePartitionHandler();
+        partitionHandler.setJobExplorer(jobExplorer);
+        partitionHandler.setGridSize(partitions);
+        partitionHandler.setPollInterval(Duration.ofMillis(remotePollIntervalMillis));
+        partitionHandler.setTimeout(Duration.ofMinutes(remoteTimeoutMinutes));
+        if (remoteLeaseSeconds > 0) {
+            partitionHandler.setJdbcTemplate(new JdbcTemplate(dataSource));
+            partitionHandler.setTablePrefix(batchTablePrefix);
+            partitionHandler.setLease(Duration.ofSeconds(remoteLeaseSeconds));
+            partitionHandler.setMaxRequeues(remoteMaxRequeues);
+        }
+        partitionHandler.afterPropertiesSet();
+        return partitionHandler;
+    }
+
+    /**
+     * workers 개의 워커가 workers * splitsPerWorker 개로 나눈 파티션을 공유 큐에서 하나씩 가져가 실행한다.
+     */
+    private PartitionHandler workQueuePartitionHandler(int workers) {
+        int splits = workers * Math.max(1, splitsPerWorker);
+        log.info("Partitioning workerStep into {} splits for {} queue workers", splits, workers);
+
+        WorkQueuePartitionHandler partitionHandler = new WorkQueuePartitionHandler();
+        partitionHandler.setStep(workerStep());
+        partitionHandler.setTaskExecutor(taskExecutor());
+        partitionHandler.setGridSize(splits);
+        partitionHandler.setWorkers(workers);
+        partitionHandler.afterPropertiesSet();
         return partitionHandler;
     }
 
+    /**
+     * Job 파라미터 gridSize 가 있으면 사용하고, 없으면 batch.grid-size (기본값: CPU 코어 수) 를 사용한다.
+     */
+    private int resolveGridSize() {
+        StepContext context = StepSynchronizationManager.getContext();
+        Object value = context != null ? context.getJobParameters().get("gridSize") : null;
+        if (value == null) {
+            return gridSize;
+        }
+        return Integer.parseInt(value.toString().trim());
+    }
+
+    /**
+     * batch.executor.type 으로 파티션 실행 방식을 선택한다.
+     * platform: grid size 만큼의 스레드 풀, virtual: 파티션마다 가상 스레드
+     */
     @Bean
     public TaskExecutor taskExecutor() {
+        if (executorType == ExecutorType.VIRTUAL) {
+            return virtualTaskExecutor();
+        }
+        return platformTaskExecutor();
+    }
+
+    /**
+     * 기본값은 grid size 만큼의 스레드로 모든 파티션을 동시에 실행한다.
+     * Job 파라미터로 grid size 를 스레드 수보다 크게 주면 남은 파티션은 큐에서 대기한다.
+     */
+    private TaskExecutor platformTaskExecutor() {
+        int core = corePoolSize > 0 ? corePoolSize : gridSize;
+        int max = Math.max(core, maxPoolSize);
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(2);
-        executor.setMaxPoolSize(4);
-        executor.setQueueCapacity(10);
+        executor.setCorePoolSize(core);
+        executor.setMaxPoolSize(max);
+        executor.setQueueCapacity(queueCapacity);
         executor.setThreadNamePrefix("partition-");
         executor.initialize();
         return executor;
     }
 
+    /**
+     * 워커 Step 은 대부분 JDBC 와 지연 시뮬레이션에서 대기하므로 파티션마다 가상 스레드를 사용한다.
+     * 각 파티션은 chunk 트랜잭션 동안 커넥션을 하나 점유하므로, 동시 실행 수를 커넥션 풀 크기보다 작게 제한해
+     * JobRepository 갱신에 쓸 커넥션을 남긴다. 제한에 도달하면 다음 파티션 제출은 슬롯이 빌 때까지 대기한다.
+     */
+    private TaskExecutor virtualTaskExecutor() {
+        int limit = virtualMaxConcurrency > 0 ? virtualMaxConcurrency : Math.max(1, connectionPoolSize - 1);
+        log.info("Using virtual thread partition executor (max concurrency: {})", limit);
+
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("partition-vt-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(limit);
+        return executor;
+    }
+
+    /**
+     * Job 파라미터 writerMode (jpa | jdbc | copy | upsert) 로 Job 실행마다 Writer 를 선택한다.
+     * 파라미터가 없으면 batch.writer.mode 설정값(기본값 jpa)을 사용한다. copy 와 upsert 는 PostgreSQL 에서만 동작한다.
+     */
+    @Bean
+    @StepScope
+    public ItemWriter<RoamingStatusEntity> roamingStatusItemWriter(
+            @Value("#{jobParameters['writerMode'] ?: '${batch.writer.mode:jpa}'}") String writerMode) {
+
+        WriterMode mode = WriterMode.from(writerMode);
+        log.info("Using {} writer for roaming_status", mode);
+        return itemWriter(mode);
+    }
+
+    /**
+     * Step 밖(tail 모드 등)에서도 쓸 수 있도록 Writer 모드에 해당하는 singleton Writer 를 반환한다.
+     * batch.latest-status.enabled 면 같은 chunk 트랜잭션에서 device_latest_status 도 갱신한다 (PostgreSQL 전용, 기본값 false).
+     */
+    public ItemWriter<RoamingStatusEntity> itemWriter(WriterMode mode) {
+        ItemWriter<RoamingStatusEntity> writer = switch (mode) {
+            case JPA -> jpaItemWriter();
+            case JDBC -> jdbcBatchItemWriter();
+            case COPY -> postgresCopyItemWriter();
+            case UPSERT -> upsertItemWriter();
+        };
+        if (!latestStatusEnabled) {
+            return writer;
+        }
+
+        CompositeItemWriter<RoamingStatusEntity> compositeWriter = new CompositeItemWriter<>();
+        compositeWriter.setDelegates(List.of(writer, deviceLatestStatusItemWriter()));
+        return compositeWriter;
+    }
+
     @Bean
     public JpaItemWriter<RoamingStatusEntity> jpaItemWriter() {
         return new JpaItemWriterBuilder<RoamingStatusEntity>()
                 .entityManagerFactory(entityManagerFactory)
                 .build();
     }
+
+    /**
+     * Chunk 단위로 하나의 JDBC batch 를 전송한다.
+     * PostgreSQL 은 reWriteBatchedInserts=true 로 multi-row INSERT 로 재작성된다.
+     */
+    @Bean
+    public JdbcBatchItemWriter<RoamingStatusEntity> jdbcBatchItemWriter() {
+        return new JdbcBatchItemWriterBuilder<RoamingStatusEntity>()
+                .dataSource(dataSource)
+                .sql(RoamingStatusPreparedStatementSetter.INSERT_SQL)
+                .itemPreparedStatementSetter(new RoamingStatusPreparedStatementSetter())
+                .build();
+    }
+
+    /**
+     * PostgreSQL 전용. (device_id, timestamp) 충돌 시 갱신하므로 재실행해도 중복 row 가 생기지 않는다.
+     */
+    @Bean
+    public RoamingStatusUpsertItemWriter upsertItemWriter() {
+        RoamingStatusUpsertItemWriter writer = new RoamingStatusUpsertItemWriter();
+        writer.setDataSource(dataSource);
+        return writer;
+    }
+
+    /**
+     * PostgreSQL 전용. chunk 를 COPY FROM STDIN 으로 적재하고, 실패 시 scan 단계에서 row 단위 INSERT 로 대체한다.
+     */
+    @Bean
+    public PostgresCopyItemWriter postgresCopyItemWriter() {
+        PostgresCopyItemWriter writer = new PostgresCopyItemWriter();
+        writer.setDataSource(dataSource);
+        writer.setRowWriter(jdbcBatchItemWriter());
+        return writer;
+    }
+
+    /**
+     * PostgreSQL 전용. chunk 안의 기기별 최신 상태만 device_latest_status 에 upsert 한다.
+     * 커밋된 상태를 기억하는 캐시를 모든 파티션이 공유하도록 singleton 으로 만든다.
+     */
+    @Bean
+    public DeviceLatestStatusItemWriter deviceLatestStatusItemWriter() {
+        DeviceLatestStatusItemWriter writer = new DeviceLatestStatusItemWriter(latestStatusCacheSize);
+        writer.setDataSource(dataSource);
+        return writer;
+    }
+
+    public enum PartitionMode {
+        LINE, BYTE
+    }
+
+    public enum PartitionScheduling {
+        STATIC, QUEUE
+    }
+
+    public enum RemoteRole {
+        LOCAL, MANAGER, WORKER
+    }
+
+    public enum ExecutorType {
+        PLATFORM, VIRTUAL
+    }
+
+    public enum ProcessorMode {
+        SYNC, ASYNC
+    }
+
+    public enum ReaderParser {
+        ROAMING, TOKENIZER
+    }
+
+    public enum WriterMode {
+        JPA, JDBC, COPY, UPSERT;
+
+        public static WriterMode from(String value) {
+            return valueOf(value.trim().toUpperCase());
+        }
+    }
 }
\ No newline at end of file
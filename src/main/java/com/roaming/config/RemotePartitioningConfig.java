@@ -0,0 +1,51 @@
+package com.roaming.config;
+
+import com.roaming.job.remote.RemotePartitionWorker;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * batch.remote.role=worker 일 때 공유 JobRepository 에서 manager 가 만든 workerStep 파티션을 가져가 실행한다.
+ * worker 는 Job 을 직접 시작하지 않으므로 spring.batch.job.enabled=false 로 실행한다.
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "batch.remote.role", havingValue = "worker")
+public class RemotePartitioningConfig {
+
+    private final BatchConfig batchConfig;
+    private final DataSource dataSource;
+    private final JobExplorer jobExplorer;
+
+    @Value("${batch.remote.worker.concurrency:4}")
+    private int concurrency;
+
+    @Value("${batch.remote.poll-interval-ms:1000}")
+    private long pollIntervalMillis;
+
+    @Value("${batch.remote.worker.heartbeat-interval-ms:10000}")
+    private long heartbeatIntervalMillis;
+
+    @Value("${spring.batch.jdbc.table-prefix:BATCH_}")
+    private String tablePrefix;
+
+    @Bean
+    public RemotePartitionWorker remotePartitionWorker() {
+        RemotePartitionWorker worker = new RemotePartitionWorker();
+        worker.setJdbcTemplate(new JdbcTemplate(dataSource));
+        worker.setJobExplorer(jobExplorer);
+        worker.setStep(batchConfig.workerStep());
+        worker.setTablePrefix(tablePrefix);
+        worker.setConcurrency(concurrency);
+        worker.setPollIntervalMillis(pollIntervalMillis);
+        worker.setHeartbeatIntervalMillis(heartbeatIntervalMillis);
+        return worker;
+    }
+}
@@ -0,0 +1,78 @@
+package com.roaming.config;
+
+import com.roaming.job.processor.RoamingDataProcessor;
+import com.roaming.job.tail.JdbcTailOffsetStore;
+import com.roaming.job.tail.RoamingFileTailer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Paths;
+
+/**
+ * batch.tail.enabled=true 일 때 소스 디렉터리의 CSV 파일을 계속 따라가며 추가된 라인을 적재한다.
+ * 기본 디렉터리와 파일 패턴은 FileArchiveTasklet 의 설정(batch.archive.*)을 따른다.
+ * 파일별 위치는 roaming_tail_offset 테이블에 저장해 다시 시작할 때 이어서 읽는다.
+ */
+@Configuration
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "batch.tail.enabled", havingValue = "true")
+public class TailConfig {
+
+    private final BatchConfig batchConfig;
+    private final RoamingDataProcessor roamingDataProcessor;
+    private final PlatformTransactionManager transactionManager;
+    private final DataSource dataSource;
+
+    @Value("${batch.tail.directory:${batch.archive.source-directory:./src/main/resources/data}}")
+    private String directory;
+
+    @Value("${batch.tail.file-pattern:${batch.archive.file-pattern:*.csv}}")
+    private String filePattern;
+
+    @Value("${batch.tail.flush-size:500}")
+    private int flushSize;
+
+    @Value("${batch.tail.flush-interval-ms:1000}")
+    private long flushIntervalMillis;
+
+    @Value("${batch.tail.poll-interval-ms:200}")
+    private long pollIntervalMillis;
+
+    @Value("${batch.tail.from-beginning:false}")
+    private boolean fromBeginning;
+
+    @Value("${batch.tail.retry-limit:3}")
+    private int retryLimit;
+
+    @Value("${batch.tail.skip-limit:${batch.skip-limit:5}}")
+    private int skipLimit;
+
+    @Value("${batch.writer.mode:jpa}")
+    private String writerMode;
+
+    @Bean
+    public RoamingFileTailer roamingFileTailer() {
+        RoamingFileTailer tailer = new RoamingFileTailer();
+        tailer.setDirectory(Paths.get(directory));
+        tailer.setFilePattern(filePattern);
+        tailer.setProcessor(roamingDataProcessor);
+        batchConfig.configureTailParser(tailer);
+        tailer.setWriter(batchConfig.itemWriter(BatchConfig.WriterMode.from(writerMode)));
+        tailer.setTransactionTemplate(new TransactionTemplate(transactionManager));
+        tailer.setFlushSize(flushSize);
+        tailer.setFlushIntervalMillis(flushIntervalMillis);
+        tailer.setPollIntervalMillis(pollIntervalMillis);
+        tailer.setFromBeginning(fromBeginning);
+        tailer.setRetryLimit(retryLimit);
+        tailer.setSkipLimit(skipLimit);
+        tailer.setOffsetStore(new JdbcTailOffsetStore(new JdbcTemplate(dataSource)));
+        return tailer;
+    }
+}
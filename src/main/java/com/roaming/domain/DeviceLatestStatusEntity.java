@@ -0,0 +1,43 @@
+package com.roaming.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+
+import java.time.LocalDateTime;
+
+/**
+ * 기기별 최신 로밍 상태. roaming_status 이력 중 기기마다 timestamp 가 가장 늦은 상태만 유지한다.
+ */
+@Entity
+@Table(name = "device_latest_status", indexes = {
+        @Index(name = "ix_device_latest_status_user_id", columnList = "user_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeviceLatestStatusEntity {
+
+    @Id
+    @Column(name = "device_id", length = 50)
+    private String deviceId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "location", length = 100)
+    private String location;
+
+    @Column(name = "timestamp", nullable = false)
+    private LocalDateTime timestamp;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private RoamingStatusEntity.RoamingStatus status;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
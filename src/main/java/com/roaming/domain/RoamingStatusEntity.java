@@ -9,15 +9,24 @@ import lombok.Builder;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "roaming_status")
+@Table(name = "roaming_status", indexes = {
+        @Index(name = "ux_roaming_status_device_timestamp", columnList = "device_id, timestamp", unique = true),
+        @Index(name = "ix_roaming_status_user_id_timestamp", columnList = "user_id, timestamp")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class RoamingStatusEntity {
     
+    /**
+     * pooled optimizer 를 사용하는 시퀀스 ID. allocationSize 만큼의 ID 를 한 번의 nextval 로 미리 할당받아
+     * persist 시점에 INSERT 가 즉시 실행되지 않으므로 hibernate.jdbc.batch_size 배치가 동작한다.
+     * 실제 증가폭은 DB 시퀀스 설정을 따른다 (hibernate.id.sequence.increment_size_mismatch_strategy=fix).
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "roaming_status_seq")
+    @SequenceGenerator(name = "roaming_status_seq", sequenceName = "roaming_status_seq", allocationSize = 500)
     private Long id;
     
     @Column(name = "user_id", nullable = false)
@@ -0,0 +1,193 @@
+package com.roaming.job.listener;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.annotation.AfterChunk;
+import org.springframework.batch.core.annotation.AfterChunkError;
+import org.springframework.batch.core.annotation.AfterStep;
+import org.springframework.batch.core.annotation.BeforeChunk;
+import org.springframework.batch.core.annotation.BeforeStep;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 실행 중인 Step 의 처리량, chunk 커밋 지연, skip/retry, 파티션별 진행 상황을 Micrometer 로 내보내는 리스너.
+ * 값은 chunk 가 끝날 때마다 StepExecution 의 누적 건수에서 이전 chunk 이후 늘어난 만큼만 더하므로
+ * item 마다 호출되는 리스너를 두지 않는다.
+ *
+ * <p>파티션(workerStep:partitionN)별 read/write 건수는 Step 이 실행되는 동안 gauge 로 노출하고,
+ * Step 이 끝나면 소요 시간과 처리 건수를 step 이름별 분포로 기록해 파티션 간 편차를 볼 수 있게 한다.
+ * 어노테이션 기반 리스너이므로 StepBuilder 의 listener(Object) 로 등록한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class BatchMetricsListener {
+
+    static final String ITEMS = "roaming.batch.items";
+    static final String SKIPS = "roaming.batch.skips";
+    static final String ROLLBACKS = "roaming.batch.rollbacks";
+    static final String RETRIES = "roaming.batch.retries";
+    static final String CHUNK = "roaming.batch.chunk";
+    static final String PARTITION_ITEMS = "roaming.batch.partition.items";
+    static final String PARTITION_DURATION = "roaming.batch.partition.duration";
+
+    private static final String CHUNK_SAMPLE = BatchMetricsListener.class.getName() + ".sample";
+
+    private final MeterRegistry meterRegistry;
+
+    // StepExecution id 별로 마지막으로 반영한 누적 건수와 실행 중 gauge
+    private final Map<Long, long[]> reported = new ConcurrentHashMap<>();
+    private final Map<Long, List<Meter>> gauges = new ConcurrentHashMap<>();
+
+    private final RetryListener retryListener = new RetryListener() {
+        @Override
+        public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+            StepContext stepContext = StepSynchronizationManager.getContext();
+            Tags tags = stepContext != null ? tags(stepContext.getStepExecution()) : Tags.of("job", "unknown", "step", "unknown");
+            meterRegistry.counter(RETRIES, tags.and("exception", throwable.getClass().getSimpleName())).increment();
+        }
+    };
+
+    @BeforeStep
+    public void beforeStep(StepExecution stepExecution) {
+        Tags tags = tags(stepExecution).and("partition", stepExecution.getStepName());
+        List<Meter> meters = new ArrayList<>(2);
+        meters.add(Gauge.builder(PARTITION_ITEMS + ".current", stepExecution, StepExecution::getReadCount)
+                .description("실행 중인 파티션이 지금까지 읽은 item 수")
+                .tags(tags.and("stage", "read"))
+                .register(meterRegistry));
+        meters.add(Gauge.builder(PARTITION_ITEMS + ".current", stepExecution, StepExecution::getWriteCount)
+                .description("실행 중인 파티션이 지금까지 쓴 item 수")
+                .tags(tags.and("stage", "write"))
+                .register(meterRegistry));
+        gauges.put(stepExecution.getId(), meters);
+        reported.put(stepExecution.getId(), new long[7]);
+    }
+
+    @AfterStep
+    public void afterStep(StepExecution stepExecution) {
+        report(stepExecution);
+        reported.remove(stepExecution.getId());
+        List<Meter> meters = gauges.remove(stepExecution.getId());
+        if (meters != null) {
+            meters.forEach(meterRegistry::remove);
+        }
+
+        Tags tags = tags(stepExecution);
+        DistributionSummary.builder(PARTITION_ITEMS)
+                .description("Step(파티션) 하나가 쓴 item 수")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stepExecution.getWriteCount());
+        if (stepExecution.getStartTime() != null) {
+            Timer.builder(PARTITION_DURATION)
+                    .description("Step(파티션) 하나의 실행 시간")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(Duration.between(stepExecution.getStartTime(), LocalDateTime.now()));
+        }
+    }
+
+    @BeforeChunk
+    public void beforeChunk(ChunkContext chunkContext) {
+        chunkContext.setAttribute(CHUNK_SAMPLE, Timer.start(meterRegistry));
+    }
+
+    @AfterChunk
+    public void afterChunk(ChunkContext chunkContext) {
+        stopChunkTimer(chunkContext, "success");
+    }
+
+    @AfterChunkError
+    public void afterChunkError(ChunkContext chunkContext) {
+        stopChunkTimer(chunkContext, "error");
+    }
+
+    /**
+     * fault tolerant Step 의 쓰기 재시도를 집계하는 리스너. FaultTolerantStepBuilder.listener(RetryListener) 로 등록한다.
+     */
+    public RetryListener retryListener() {
+        return retryListener;
+    }
+
+    private void stopChunkTimer(ChunkContext chunkContext, String outcome) {
+        StepExecution stepExecution = chunkContext.getStepContext().getStepExecution();
+        Object sample = chunkContext.removeAttribute(CHUNK_SAMPLE);
+        if (sample instanceof Timer.Sample timerSample) {
+            timerSample.stop(Timer.builder(CHUNK)
+                    .description("chunk 읽기/처리/쓰기와 커밋까지의 시간")
+                    .tags(tags(stepExecution).and("outcome", outcome))
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+        report(stepExecution);
+    }
+
+    /**
+     * 마지막으로 반영한 뒤 늘어난 건수만 counter 에 더한다.
+     */
+    private void report(StepExecution stepExecution) {
+        long[] last = reported.get(stepExecution.getId());
+        if (last == null) {
+            return;
+        }
+
+        long[] current = {
+                stepExecution.getReadCount(),
+                stepExecution.getWriteCount(),
+                stepExecution.getFilterCount(),
+                stepExecution.getReadSkipCount(),
+                stepExecution.getProcessSkipCount(),
+                stepExecution.getWriteSkipCount(),
+                stepExecution.getRollbackCount()
+        };
+
+        Tags tags = tags(stepExecution);
+        increment(ITEMS, tags.and("stage", "read"), current[0] - last[0]);
+        // 처리 건수 = 쓰기로 넘어간 건수 + 필터된 건수 + 처리 중 skip 된 건수
+        increment(ITEMS, tags.and("stage", "process"),
+                (current[1] + current[2] + current[4]) - (last[1] + last[2] + last[4]));
+        increment(ITEMS, tags.and("stage", "write"), current[1] - last[1]);
+        increment(ITEMS, tags.and("stage", "filter"), current[2] - last[2]);
+        increment(SKIPS, tags.and("stage", "read"), current[3] - last[3]);
+        increment(SKIPS, tags.and("stage", "process"), current[4] - last[4]);
+        increment(SKIPS, tags.and("stage", "write"), current[5] - last[5]);
+        increment(ROLLBACKS, tags, current[6] - last[6]);
+        System.arraycopy(current, 0, last, 0, current.length);
+    }
+
+    private void increment(String name, Tags tags, long delta) {
+        if (delta > 0) {
+            meterRegistry.counter(name, tags).increment(delta);
+        }
+    }
+
+    /**
+     * 파티션 Step 이름(workerStep:partitionN)은 step 태그에서 파티션 부분을 떼어 태그 수가 파티션 수만큼 늘지 않게 한다.
+     */
+    private static Tags tags(StepExecution stepExecution) {
+        String stepName = stepExecution.getStepName();
+        int separator = stepName.indexOf(':');
+        return Tags.of(
+                "job", stepExecution.getJobExecution().getJobInstance().getJobName(),
+                "step", separator < 0 ? stepName : stepName.substring(0, separator));
+    }
+}
@@ -0,0 +1,75 @@
+package com.roaming.job.listener;
+
+import com.roaming.job.reader.HighWaterMarks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 증분 동기화(batch.incremental.enabled)일 때 같은 Job 의 마지막으로 완료된 실행에서
+ * 파일별 처리 위치를 가져와 이번 실행의 Job ExecutionContext 에 넣는다.
+ * 완료된 실행의 값만 사용하므로 실패한 실행이 처리 위치를 앞당기지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HighWaterMarkListener implements JobExecutionListener {
+
+    private static final int PAGE_SIZE = 20;
+
+    private final JobExplorer jobExplorer;
+
+    @Value("${batch.incremental.enabled:false}")
+    private boolean enabled;
+
+    @Override
+    public void beforeJob(JobExecution jobExecution) {
+        if (!enabled) {
+            return;
+        }
+
+        String jobName = jobExecution.getJobInstance().getJobName();
+        Optional<JobExecution> previous = findLastCompletedExecution(jobName, jobExecution.getId());
+        if (previous.isEmpty()) {
+            log.info("No completed execution of {} found, processing all input", jobName);
+            return;
+        }
+
+        int files = new HighWaterMarks(jobExecution.getExecutionContext())
+                .carryForward(previous.get().getExecutionContext());
+        log.info("Resuming {} from high-water marks of {} files (job execution {})",
+            jobName, files, previous.get().getId());
+    }
+
+    /**
+     * 최근 JobInstance 부터 차례로 찾아 처음 발견한 COMPLETED 실행을 반환한다.
+     */
+    private Optional<JobExecution> findLastCompletedExecution(String jobName, Long currentExecutionId) {
+        for (int start = 0; ; start += PAGE_SIZE) {
+            List<JobInstance> instances = jobExplorer.getJobInstances(jobName, start, PAGE_SIZE);
+            if (instances.isEmpty()) {
+                return Optional.empty();
+            }
+
+            for (JobInstance instance : instances) {
+                Optional<JobExecution> completed = jobExplorer.getJobExecutions(instance).stream()
+                        .filter(execution -> execution.getStatus() == BatchStatus.COMPLETED)
+                        .filter(execution -> !execution.getId().equals(currentExecutionId))
+                        .max(Comparator.comparing(JobExecution::getId));
+                if (completed.isPresent()) {
+                    return completed;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,224 @@
+package com.roaming.job.listener;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+
+/**
+ * chunk 파이프라인의 단계(read/process/write/chunk)별 소요 시간을 나노초 단위 HdrHistogram 으로 기록하는 리스너.
+ * read 와 process 는 item 하나, write 는 Writer 호출 한 번, chunk 는 트랜잭션 커밋까지 포함한 chunk 하나의 시간이다.
+ *
+ * <p>파티션 Step 은 각자 하나의 스레드에서 실행되므로 측정값은 스레드별로 모으고, Step 이 끝나면
+ * 압축한 히스토그램을 Step ExecutionContext 에 저장한다. CompletionNotificationTasklet 이 이를 합쳐 요약한다.
+ * AsyncItemProcessor 를 쓰면 process 시간은 작업을 넘기는 시간만 측정된다.
+ *
+ * <p>batch.timing.enabled 일 때만 Step 에 등록되므로 꺼져 있으면 리스너 호출 비용도 없다.
+ */
+@Slf4j
+@Component
+public class StageTimingListener implements StepExecutionListener, ChunkListener,
+        ItemReadListener<Object>, ItemProcessListener<Object, Object>, ItemWriteListener<Object> {
+
+    public enum Stage {
+        READ, PROCESS, WRITE, CHUNK;
+
+        public String contextKey() {
+            return "timing." + name().toLowerCase();
+        }
+    }
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final ThreadLocal<Recorder> recorder = new ThreadLocal<>();
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        recorder.set(new Recorder());
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        Recorder current = recorder.get();
+        recorder.remove();
+        if (current == null) {
+            return null;
+        }
+
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        for (Map.Entry<Stage, Histogram> entry : current.histograms.entrySet()) {
+            if (entry.getValue().getTotalCount() > 0) {
+                executionContext.putString(entry.getKey().contextKey(), encode(entry.getValue()));
+            }
+        }
+        log.info("Stage timings of {}: {}", stepExecution.getStepName(), format(current.histograms));
+        return null;
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        start(Stage.CHUNK);
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        stop(Stage.CHUNK);
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        stop(Stage.CHUNK);
+    }
+
+    @Override
+    public void beforeRead() {
+        start(Stage.READ);
+    }
+
+    @Override
+    public void afterRead(Object item) {
+        stop(Stage.READ);
+    }
+
+    @Override
+    public void onReadError(Exception ex) {
+        stop(Stage.READ);
+    }
+
+    @Override
+    public void beforeProcess(Object item) {
+        start(Stage.PROCESS);
+    }
+
+    @Override
+    public void afterProcess(Object item, Object result) {
+        stop(Stage.PROCESS);
+    }
+
+    @Override
+    public void onProcessError(Object item, Exception e) {
+        stop(Stage.PROCESS);
+    }
+
+    @Override
+    public void beforeWrite(Chunk<?> items) {
+        start(Stage.WRITE);
+    }
+
+    @Override
+    public void afterWrite(Chunk<?> items) {
+        stop(Stage.WRITE);
+    }
+
+    @Override
+    public void onWriteError(Exception exception, Chunk<?> items) {
+        stop(Stage.WRITE);
+    }
+
+    /**
+     * Step ExecutionContext 에 저장된 단계별 히스토그램을 읽는다. 저장되지 않은 단계는 빠진다.
+     */
+    public static Map<Stage, Histogram> load(ExecutionContext executionContext) {
+        Map<Stage, Histogram> histograms = new EnumMap<>(Stage.class);
+        for (Stage stage : Stage.values()) {
+            if (!executionContext.containsKey(stage.contextKey())) {
+                continue;
+            }
+            byte[] bytes = Base64.getDecoder().decode(executionContext.getString(stage.contextKey()));
+            try {
+                Histogram histogram = Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(bytes), 0);
+                // 다른 파티션의 히스토그램을 더할 수 있도록 범위를 늘릴 수 있게 한다
+                histogram.setAutoResize(true);
+                histograms.put(stage, histogram);
+            } catch (DataFormatException e) {
+                log.warn("Ignoring unreadable {} histogram: {}", stage, e.getMessage());
+            }
+        }
+        return histograms;
+    }
+
+    /**
+     * 단계별 건수와 p50/p90/p99/max 를 마이크로초 단위로 나타낸다.
+     */
+    public static String format(Map<Stage, Histogram> histograms) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<Stage, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            if (!sb.isEmpty()) {
+                sb.append(", ");
+            }
+            sb.append(String.format("%s[n=%d p50=%.1f p90=%.1f p99=%.1f max=%.1f us]",
+                    entry.getKey().name().toLowerCase(),
+                    histogram.getTotalCount(),
+                    micros(histogram.getValueAtPercentile(50)),
+                    micros(histogram.getValueAtPercentile(90)),
+                    micros(histogram.getValueAtPercentile(99)),
+                    micros(histogram.getMaxValue())));
+        }
+        return sb.isEmpty() ? "no samples" : sb.toString();
+    }
+
+    private void start(Stage stage) {
+        Recorder current = recorder.get();
+        if (current != null) {
+            current.started[stage.ordinal()] = System.nanoTime();
+        }
+    }
+
+    private void stop(Stage stage) {
+        Recorder current = recorder.get();
+        if (current == null) {
+            return;
+        }
+        long started = current.started[stage.ordinal()];
+        if (started != 0) {
+            current.histograms.get(stage).recordValue(System.nanoTime() - started);
+            current.started[stage.ordinal()] = 0;
+        }
+    }
+
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    private static double micros(long nanos) {
+        return nanos / 1_000.0;
+    }
+
+    /**
+     * Step 하나(파티션 하나)의 측정 상태. 한 스레드에서만 쓰므로 동기화하지 않는다.
+     */
+    private static final class Recorder {
+
+        private final long[] started = new long[Stage.values().length];
+        private final Map<Stage, Histogram> histograms = new EnumMap<>(Stage.class);
+
+        private Recorder() {
+            for (Stage stage : Stage.values()) {
+                // 최대값을 지정하지 않으면 기록되는 값에 맞춰 범위가 늘어난다
+                histograms.put(stage, new Histogram(SIGNIFICANT_DIGITS));
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.roaming.job.partitioner;
+
+import com.roaming.job.reader.HighWaterMarks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 파일을 개행 경계에 맞춘 바이트 구간으로 분할하는 Partitioner.
+ * 각 워커는 startOffset 으로 바로 이동해 읽기 때문에 파일 전체를 한 번만 읽게 된다.
+ * {@link HighWaterMarks} 가 설정되면(증분 동기화) 이전 실행이 처리한 위치 이후만 나눈다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ByteRangePartitioner implements Partitioner {
+
+    private static final int SCAN_BUFFER_SIZE = 8192;
+
+    private final Resource resource;
+    private final int gridSize;
+
+    private HighWaterMarks highWaterMarks;
+
+    public void setHighWaterMarks(HighWaterMarks highWaterMarks) {
+        this.highWaterMarks = highWaterMarks;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+
+        try (FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            long dataStart = nextLineStart(channel, 0);
+            log.info("File size: {} bytes, data starts at offset {}", fileSize, dataStart);
+
+            long dataEnd = fileSize;
+            if (highWaterMarks != null) {
+                long[] range = highWaterMarks.range(resource.getFile().toPath().toString(), channel, dataStart);
+                dataStart = range[0];
+                dataEnd = range[1];
+                log.info("Incremental range: bytes {} to {}", dataStart, dataEnd);
+            }
+
+            if (dataStart >= dataEnd) {
+                log.warn("File has no data lines to process");
+                return partitions;
+            }
+
+            long[] boundaries = splitPoints(channel, dataStart, dataEnd, gridSize);
+
+            for (int i = 0; i < gridSize; i++) {
+                long startOffset = boundaries[i];
+                long endOffset = boundaries[i + 1];
+
+                if (startOffset >= endOffset) {
+                    continue;
+                }
+
+                ExecutionContext context = new ExecutionContext();
+                context.putLong("startOffset", startOffset);
+                context.putLong("endOffset", endOffset);
+                context.putString("partitionNumber", String.valueOf(i));
+
+                partitions.put("partition" + i, context);
+
+                log.debug("Partition {}: bytes {} to {} ({} bytes)",
+                    i, startOffset, endOffset, endOffset - startOffset);
+            }
+
+            log.info("Created {} partitions for processing", partitions.size());
+
+        } catch (IOException e) {
+            log.error("Error reading file for partitioning: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to partition file", e);
+        }
+
+        return partitions;
+    }
+
+    /**
+     * [dataStart, fileSize) 구간을 gridSize 개로 나눈 경계값을 반환한다.
+     * 각 경계는 다음 라인의 시작 위치로 맞춰지며, 결과 배열의 길이는 gridSize + 1 이다.
+     */
+    static long[] splitPoints(FileChannel channel, long dataStart, long fileSize, int gridSize) throws IOException {
+        long[] boundaries = new long[gridSize + 1];
+        boundaries[0] = dataStart;
+        boundaries[gridSize] = fileSize;
+
+        long span = fileSize - dataStart;
+        for (int i = 1; i < gridSize; i++) {
+            long target = dataStart + (span * i) / gridSize;
+            long aligned = nextLineStart(channel, Math.max(dataStart, target) - 1);
+            boundaries[i] = Math.max(boundaries[i - 1], Math.min(aligned, fileSize));
+        }
+
+        return boundaries;
+    }
+
+    /**
+     * from 위치 이후 처음 등장하는 '\n' 바로 다음 오프셋을 반환한다. 개행이 없으면 파일 크기를 반환한다.
+     */
+    public static long nextLineStart(FileChannel channel, long from) throws IOException {
+        long fileSize = channel.size();
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = Math.max(0, from);
+
+        while (position < fileSize) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+
+        return fileSize;
+    }
+}
@@ -0,0 +1,143 @@
+package com.roaming.job.partitioner;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+/**
+ * 파티션 계획용 라인 카운터.
+ * 파일 리소스는 메모리 매핑 후 여러 구간을 병렬로 스캔하고, 그 외 리소스는 스트림으로 바이트를 스캔한다.
+ * 어느 경우든 문자 디코딩 없이 '\n' 바이트만 센다.
+ *
+ * <p>결과는 {@link java.io.BufferedReader#readLine()} 호출 횟수와 같다. 단, 단독 '\r' 은 개행으로 보지 않는다.
+ */
+public final class LineCounter {
+
+    private static final long MIN_SEGMENT_SIZE = 1024 * 1024;
+    private static final long MAX_MAPPING_SIZE = 1L << 30;
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    private static final long ONES = 0x0101010101010101L;
+    private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+    private static final long NEWLINES = ONES * '\n';
+
+    private LineCounter() {
+    }
+
+    public static long countLines(Resource resource) throws IOException {
+        if (resource.isFile()) {
+            return countLines(resource.getFile().toPath());
+        }
+        try (InputStream inputStream = resource.getInputStream()) {
+            return countLines(inputStream);
+        }
+    }
+
+    /**
+     * 파일을 가용 코어 수만큼의 구간으로 나누어 메모리 매핑 후 병렬로 '\n' 을 센다.
+     */
+    public static long countLines(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return 0;
+            }
+
+            int parallelism = Runtime.getRuntime().availableProcessors();
+            int segments = (int) Math.max(1, Math.min(parallelism, size / MIN_SEGMENT_SIZE));
+            long segmentSize = (size + segments - 1) / segments;
+
+            long newlines;
+            try {
+                newlines = IntStream.range(0, segments)
+                        .parallel()
+                        .mapToLong(segment -> {
+                            long start = segment * segmentSize;
+                            long end = Math.min(size, start + segmentSize);
+                            return countNewlines(channel, start, end);
+                        })
+                        .sum();
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            return newlines + (endsWithNewline(channel, size) ? 0 : 1);
+        }
+    }
+
+    /**
+     * 파일이 아닌 리소스를 위한 스트리밍 카운터.
+     */
+    public static long countLines(InputStream inputStream) throws IOException {
+        byte[] buffer = new byte[STREAM_BUFFER_SIZE];
+        long newlines = 0;
+        boolean empty = true;
+        byte last = 0;
+
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            if (read == 0) {
+                continue;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] == '\n') {
+                    newlines++;
+                }
+            }
+            empty = false;
+            last = buffer[read - 1];
+        }
+
+        if (empty) {
+            return 0;
+        }
+        return newlines + (last == '\n' ? 0 : 1);
+    }
+
+    private static long countNewlines(FileChannel channel, long start, long end) {
+        long count = 0;
+        try {
+            for (long windowStart = start; windowStart < end; windowStart += MAX_MAPPING_SIZE) {
+                long windowSize = Math.min(MAX_MAPPING_SIZE, end - windowStart);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+                count += countNewlines(buffer, (int) windowSize);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+
+    /**
+     * 8바이트 단위로 읽어 '\n' 과 같은 바이트 수를 비트 연산으로 센다 (SWAR).
+     */
+    private static long countNewlines(MappedByteBuffer buffer, int size) {
+        long count = 0;
+        int i = 0;
+        int wordLimit = size - Long.BYTES;
+
+        for (; i <= wordLimit; i += Long.BYTES) {
+            long word = buffer.getLong(i) ^ NEWLINES;
+            long zeroBytes = ~(((word & LOW_SEVEN_BITS) + LOW_SEVEN_BITS) | word | LOW_SEVEN_BITS);
+            count += Long.bitCount(zeroBytes);
+        }
+        for (; i < size; i++) {
+            if (buffer.get(i) == '\n') {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean endsWithNewline(FileChannel channel, long size) throws IOException {
+        MappedByteBuffer last = channel.map(FileChannel.MapMode.READ_ONLY, size - 1, 1);
+        return last.get(0) == '\n';
+    }
+}
@@ -6,9 +6,7 @@ import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.item.ExecutionContext;
 import org.springframework.core.io.Resource;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -78,12 +76,6 @@ public class LineRangePartitioner implements Partitioner {
     }
 
     private int countLines() throws IOException {
-        int lineCount = 0;
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream()))) {
-            while (reader.readLine() != null) {
-                lineCount++;
-            }
-        }
-        return lineCount;
+        return Math.toIntExact(LineCounter.countLines(resource));
     }
 }
\ No newline at end of file
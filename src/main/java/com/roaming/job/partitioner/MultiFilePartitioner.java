@@ -0,0 +1,189 @@
+package com.roaming.job.partitioner;
+
+import com.roaming.job.reader.Compression;
+import com.roaming.job.reader.DecompressingResource;
+import com.roaming.job.reader.HighWaterMarks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 여러 입력 파일을 바이트 크기 기준으로 균등하게 나누는 Partitioner.
+ * 전체 데이터 크기를 gridSize 로 나눈 값을 목표 크기로 삼아, 큰 파일은 개행 경계에 맞춘 여러 구간으로 나누고
+ * 작은 파일은 파일 하나를 하나의 파티션으로 만든다. 따라서 파티션 수는 gridSize 보다 많을 수 있으며,
+ * 동시에 실행되는 파티션 수는 파티션 실행기가 제한한다.
+ *
+ * <p>각 파티션은 inputFile, startOffset, endOffset 을 가진다. 모든 파일은 헤더 라인을 가진다고 가정한다.
+ *
+ * <p>압축 파일(.gz, .zst)은 임의 위치에서 압축을 풀 수 없으므로 파일 하나를 하나의 파티션으로 만든다.
+ * 이때 오프셋은 압축 해제된 바이트 기준이며, 크기 균형 계산에는 디스크상의 크기를 사용한다.
+ * 큰 압축 파일을 병렬로 처리하려면 FileArchiveTasklet 의 분할 기능으로 미리 여러 파일로 나눈다.
+ *
+ * <p>{@link HighWaterMarks} 가 설정되면(증분 동기화) 이전 실행이 처리한 위치 이후만 나눈다.
+ * 압축 파일은 압축 해제된 바이트 기준의 위치 이후를 한 파티션으로 만들고, 이전 실행 이후 크기가 바뀌지 않았으면 건너뛴다.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class MultiFilePartitioner implements Partitioner {
+
+    private final List<Resource> resources;
+    private final long minSplitSize;
+
+    private HighWaterMarks highWaterMarks;
+
+    public void setHighWaterMarks(HighWaterMarks highWaterMarks) {
+        this.highWaterMarks = highWaterMarks;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+
+        try {
+            List<InputFile> files = scan();
+            long totalBytes = files.stream().mapToLong(InputFile::dataBytes).sum();
+            if (totalBytes == 0) {
+                log.warn("Input files have no data lines to process");
+                return partitions;
+            }
+
+            long targetSplitSize = Math.max(minSplitSize, (totalBytes + gridSize - 1) / gridSize);
+            log.info("Partitioning {} files ({} bytes) into splits of about {} bytes",
+                files.size(), totalBytes, targetSplitSize);
+
+            int partitionNumber = 0;
+            for (InputFile file : files) {
+                int splits = file.compressed() ? 1
+                        : (int) Math.max(1, Math.min(gridSize, Math.round((double) file.dataBytes() / targetSplitSize)));
+                long[] boundaries = split(file, splits);
+
+                for (int i = 0; i < splits; i++) {
+                    long startOffset = boundaries[i];
+                    long endOffset = boundaries[i + 1];
+                    if (startOffset >= endOffset) {
+                        continue;
+                    }
+
+                    ExecutionContext context = new ExecutionContext();
+                    context.putString("inputFile", file.path().toString());
+                    context.putLong("startOffset", startOffset);
+                    context.putLong("endOffset", endOffset);
+                    context.putString("partitionNumber", String.valueOf(partitionNumber));
+
+                    partitions.put("partition" + partitionNumber, context);
+                    partitionNumber++;
+
+                    log.debug("Partition {}: {} bytes {} to {} ({} bytes)",
+                        partitionNumber - 1, file.path().getFileName(), startOffset, endOffset, endOffset - startOffset);
+                }
+            }
+
+            log.info("Created {} partitions for processing", partitions.size());
+
+        } catch (IOException e) {
+            log.error("Error reading input files for partitioning: {}", e.getMessage(), e);
+            throw new RuntimeException("Failed to partition input files", e);
+        }
+
+        return partitions;
+    }
+
+    private List<InputFile> scan() throws IOException {
+        List<InputFile> files = new ArrayList<>();
+        for (Resource resource : resources) {
+            if (!resource.isFile()) {
+                throw new IllegalStateException("Input resource must be a file: " + resource.getDescription());
+            }
+
+            Path path = resource.getFile().toPath();
+            Compression compression = Compression.of(path.getFileName().toString());
+            if (compression != Compression.NONE) {
+                long dataStart = compressedHeaderLength(path, compression);
+                if (dataStart < 0) {
+                    log.warn("File has no data lines to process: {}", path);
+                    continue;
+                }
+                long dataEnd = Long.MAX_VALUE;
+                if (highWaterMarks != null) {
+                    long[] range = highWaterMarks.compressedRange(path.toString(), Files.size(path), dataStart,
+                            new DecompressingResource(new FileSystemResource(path), compression));
+                    dataStart = range[0];
+                    dataEnd = range[1];
+                    if (dataStart >= dataEnd) {
+                        log.info("Compressed file has no new data since the last run: {}", path);
+                        continue;
+                    }
+                }
+                files.add(new InputFile(path, dataStart, dataEnd, Files.size(path), true));
+                continue;
+            }
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long dataStart = ByteRangePartitioner.nextLineStart(channel, 0);
+                long dataEnd = channel.size();
+                if (highWaterMarks != null) {
+                    long[] range = highWaterMarks.range(path.toString(), channel, dataStart);
+                    dataStart = range[0];
+                    dataEnd = range[1];
+                }
+                if (dataStart >= dataEnd) {
+                    log.warn("File has no data lines to process: {}", path);
+                    continue;
+                }
+                files.add(new InputFile(path, dataStart, dataEnd, channel.size(), false));
+            }
+        }
+        return files;
+    }
+
+    /**
+     * 압축 해제된 헤더 라인의 길이('\n' 포함)를 반환한다. 헤더 뒤에 데이터가 없으면 -1 을 반환한다.
+     */
+    private long compressedHeaderLength(Path path, Compression compression) throws IOException {
+        try (InputStream in = compression.decompress(Files.newInputStream(path))) {
+            long length = 0;
+            int b;
+            while ((b = in.read()) != -1) {
+                length++;
+                if (b == '\n') {
+                    return in.read() == -1 ? -1 : length;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private long[] split(InputFile file, int splits) throws IOException {
+        if (file.compressed()) {
+            return new long[]{file.dataStart(), file.dataEnd()};
+        }
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            return ByteRangePartitioner.splitPoints(channel, file.dataStart(), file.dataEnd(), splits);
+        }
+    }
+
+    /**
+     * 압축 파일의 dataStart/dataEnd 는 압축 해제된 바이트 기준이며 (증분이 아니면 dataEnd 는 Long.MAX_VALUE),
+     * 크기 균형 계산에는 디스크상의 크기(diskSize)를 사용한다.
+     */
+    private record InputFile(Path path, long dataStart, long dataEnd, long diskSize, boolean compressed) {
+
+        long dataBytes() {
+            return compressed ? diskSize : dataEnd - dataStart;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.roaming.job.partitioner;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.partition.support.AbstractPartitionHandler;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.FutureTask;
+
+/**
+ * 입력을 워커 수보다 많은 작은 파티션으로 나누고, 워커가 공유 큐에서 파티션을 하나씩 가져가 실행하는 PartitionHandler.
+ * 느린 item 이나 재시도가 몰린 파티션이 있어도 나머지 워커가 남은 파티션을 계속 가져가므로
+ * 파티션을 워커 수만큼만 나눌 때처럼 한 워커만 남아 실행되는 시간이 줄어든다.
+ *
+ * <p>파티션은 크기(바이트 구간 또는 라인 구간)가 큰 것부터 실행해 마지막에 큰 파티션이 남지 않게 한다.
+ * 각 파티션은 일반 파티션과 같이 JobRepository 에 저장되는 StepExecution 이므로, 재시작하면
+ * StepExecutionSplitter 가 완료되지 않은 파티션만 다시 큐에 넣는다.
+ */
+@Slf4j
+public class WorkQueuePartitionHandler extends AbstractPartitionHandler implements InitializingBean {
+
+    private static final Comparator<StepExecution> LARGEST_FIRST =
+            Comparator.comparingLong(WorkQueuePartitionHandler::size).reversed()
+                    .thenComparing(StepExecution::getStepName);
+
+    private Step step;
+    private TaskExecutor taskExecutor;
+    private int workers = 1;
+
+    public void setStep(Step step) {
+        this.step = step;
+    }
+
+    public void setTaskExecutor(TaskExecutor taskExecutor) {
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * 동시에 파티션을 실행하는 워커 수. 나눌 파티션 수는 {@link #setGridSize(int)} 로 지정한다.
+     */
+    public void setWorkers(int workers) {
+        this.workers = workers;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(step, "A Step must be provided");
+        Assert.notNull(taskExecutor, "A TaskExecutor must be provided");
+        Assert.isTrue(workers > 0, "workers must be greater than zero");
+    }
+
+    @Override
+    protected Set<StepExecution> doHandle(StepExecution managerStepExecution,
+                                          Set<StepExecution> partitionStepExecutions) throws Exception {
+        List<StepExecution> ordered = new ArrayList<>(partitionStepExecutions);
+        ordered.sort(LARGEST_FIRST);
+        Queue<StepExecution> queue = new ConcurrentLinkedQueue<>(ordered);
+
+        int workerCount = Math.min(workers, ordered.size());
+        log.info("Running {} partitions of {} on {} workers", ordered.size(), step.getName(), workerCount);
+
+        List<FutureTask<Integer>> tasks = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            FutureTask<Integer> task = new FutureTask<>(() -> drain(queue));
+            try {
+                taskExecutor.execute(task);
+                tasks.add(task);
+            } catch (TaskRejectedException e) {
+                // 이미 시작된 워커가 남은 파티션을 가져가므로 워커가 하나도 없을 때만 실패로 처리한다
+                log.warn("Partition worker rejected by task executor: {}", e.getMessage());
+            }
+        }
+
+        if (tasks.isEmpty()) {
+            StepExecution stepExecution;
+            while ((stepExecution = queue.poll()) != null) {
+                fail(stepExecution, new TaskRejectedException("No partition worker could be started"));
+            }
+        }
+
+        for (FutureTask<Integer> task : tasks) {
+            log.debug("Partition worker finished after {} partitions", task.get());
+        }
+        return partitionStepExecutions;
+    }
+
+    /**
+     * 큐가 빌 때까지 파티션을 하나씩 가져가 실행하고, 실행한 파티션 수를 반환한다.
+     */
+    private int drain(Queue<StepExecution> queue) {
+        int executed = 0;
+        StepExecution stepExecution;
+        while ((stepExecution = queue.poll()) != null) {
+            try {
+                step.execute(stepExecution);
+            } catch (Throwable e) {
+                // Step 안에서 처리되지 않은 예외. 해당 파티션만 실패로 두고 다음 파티션을 계속 실행한다
+                log.error("Partition {} failed", stepExecution.getStepName(), e);
+                fail(stepExecution, e);
+            }
+            executed++;
+        }
+        return executed;
+    }
+
+    private static void fail(StepExecution stepExecution, Throwable e) {
+        stepExecution.setStatus(BatchStatus.FAILED);
+        stepExecution.setExitStatus(ExitStatus.FAILED.addExitDescription(e));
+        stepExecution.addFailureException(e);
+    }
+
+    /**
+     * 파티션이 처리할 입력 크기. 바이트 구간이 있으면 바이트 수, 라인 구간이 있으면 라인 수를 사용한다.
+     */
+    static long size(StepExecution stepExecution) {
+        ExecutionContext context = stepExecution.getExecutionContext();
+        if (context.containsKey("startOffset") && context.containsKey("endOffset")) {
+            return context.getLong("endOffset") - context.getLong("startOffset");
+        }
+        if (context.containsKey("startLine") && context.containsKey("endLine")) {
+            return context.getInt("endLine") - context.getInt("startLine");
+        }
+        return 0;
+    }
+}
@@ -7,7 +7,6 @@ import org.springframework.batch.item.ItemProcessor;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 @Slf4j
 @Component
@@ -17,10 +16,7 @@ public class BasicRoamingDataProcessor implements ItemProcessor<RoamingData, Roa
     public RoamingStatusEntity process(RoamingData item) throws Exception {
         log.debug("Processing item: {}", item);
         
-        LocalDateTime parsedTimestamp = LocalDateTime.parse(
-            item.getTimestamp(), 
-            DateTimeFormatter.ISO_LOCAL_DATE_TIME
-        );
+        LocalDateTime parsedTimestamp = RoamingTimestampParser.parse(item.getTimestamp());
         
         RoamingStatusEntity entity = RoamingStatusEntity.builder()
                 .userId(item.getUserId())
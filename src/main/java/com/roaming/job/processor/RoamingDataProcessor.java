@@ -7,7 +7,6 @@ import org.springframework.batch.item.ItemProcessor;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 @Slf4j
 @Component
@@ -29,10 +28,7 @@ public class RoamingDataProcessor implements ItemProcessor<RoamingData, RoamingS
             Thread.sleep(100); // 짧은 지연
         }
         
-        LocalDateTime parsedTimestamp = LocalDateTime.parse(
-            item.getTimestamp(), 
-            DateTimeFormatter.ISO_LOCAL_DATE_TIME
-        );
+        LocalDateTime parsedTimestamp = RoamingTimestampParser.parse(item.getTimestamp());
         
         RoamingStatusEntity entity = RoamingStatusEntity.builder()
                 .userId(item.getUserId())
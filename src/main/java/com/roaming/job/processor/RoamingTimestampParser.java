@@ -0,0 +1,62 @@
+package com.roaming.job.processor;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 로밍 데이터의 고정 형식 timestamp(yyyy-MM-ddTHH:mm:ss)를 LocalDateTime 으로 변환한다.
+ * 자릿수를 직접 읽어 DateTimeFormatter 의 파싱 컨텍스트 생성 비용을 피하고,
+ * 형식이 다르거나(소수 초, 초 생략 등) 유효하지 않은 값이면 ISO_LOCAL_DATE_TIME 으로 파싱해 결과와 예외를 그대로 따른다.
+ */
+public final class RoamingTimestampParser {
+
+    private static final int FIXED_LENGTH = 19;
+
+    private RoamingTimestampParser() {
+    }
+
+    public static LocalDateTime parse(String text) {
+        if (text == null || text.length() != FIXED_LENGTH
+                || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T'
+                || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return parseIso(text);
+        }
+
+        int year = digits(text, 0, 4);
+        int month = digits(text, 5, 2);
+        int day = digits(text, 8, 2);
+        int hour = digits(text, 11, 2);
+        int minute = digits(text, 14, 2);
+        int second = digits(text, 17, 2);
+        if ((year | month | day | hour | minute | second) < 0) {
+            return parseIso(text);
+        }
+
+        try {
+            return LocalDateTime.of(year, month, day, hour, minute, second);
+        } catch (DateTimeException e) {
+            // 2월 30일 같은 값은 ISO 파서와 같은 DateTimeParseException 을 던지도록 위임한다
+            return parseIso(text);
+        }
+    }
+
+    /**
+     * [offset, offset + length) 의 숫자를 읽는다. 숫자가 아닌 문자가 있으면 -1 을 반환한다.
+     */
+    private static int digits(String text, int offset, int length) {
+        int value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static LocalDateTime parseIso(String text) {
+        return LocalDateTime.parse(text, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+}
@@ -0,0 +1,371 @@
+package com.roaming.job.reader;
+
+import com.roaming.domain.RoamingData;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.file.ResourceAwareItemReaderItemStream;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 파일의 바이트 구간 [startOffset, endOffset) 에 속한 라인만 읽는 CSV Reader.
+ * 시작 오프셋으로 바로 seek 하므로 앞선 파티션의 라인을 다시 읽고 버리지 않는다.
+ * startOffset 은 항상 라인의 시작 위치여야 한다 ({@link com.roaming.job.partitioner.ByteRangePartitioner} 참고).
+ *
+ * <p>{@link RoamingCsvParser} 가 설정되면 라인을 재사용 char 버퍼로 디코딩해 바로 파싱하므로 라인 String 을 만들지 않는다.
+ * 설정되지 않으면 LineMapper 로 라인을 매핑한다.
+ *
+ * <p>압축 파일처럼 seek 할 수 없는 리소스({@link Resource#isFile()} 가 false)는 스트림으로 읽으며,
+ * 오프셋은 압축 해제된 바이트 기준이고 startOffset 까지는 읽어서 버린다.
+ *
+ * <p>{@link HighWaterMarks} 가 설정되면(증분 동기화) startOffset/endOffset 대신 리소스를 열 때마다 헤더를 건너뛰고
+ * 이전 실행이 처리한 위치부터 마지막 개행까지 읽는다. 압축 파일은 압축 해제된 바이트 기준의 위치까지 읽어서 버리고,
+ * 이전 실행 이후 크기가 바뀌지 않았으면 아무것도 읽지 않는다. MultiResourceItemReader 의 delegate 로 여러 파일을 차례로 읽을 수 있다.
+ *
+ * <p>commit 마다 다음에 읽을 바이트 위치를 ExecutionContext 에 저장하고, 재시작하면 앞의 라인을 다시 읽지 않고 그 위치로 바로 seek 한다.
+ * seek 할 수 없는 리소스는 저장된 위치까지 읽어서 버리지만 라인을 파싱하지는 않는다.
+ */
+@Slf4j
+public class ByteRangeCsvItemReader extends AbstractItemCountingItemStreamItemReader<RoamingData>
+        implements ResourceAwareItemReaderItemStream<RoamingData> {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int INITIAL_LINE_BUFFER_SIZE = 256;
+    private static final String POSITION_KEY = "position";
+
+    private Resource resource;
+    private LineMapper<RoamingData> lineMapper;
+    private RoamingCsvParser parser;
+    private long startOffset;
+    private long endOffset = Long.MAX_VALUE;
+    private HighWaterMarks highWaterMarks;
+
+    private ReadableByteChannel channel;
+    private ByteBuffer readBuffer;
+    private byte[] lineBuffer;
+    private char[] charBuffer;
+    private CharsetDecoder decoder;
+    private long position;
+    private long restartPosition = -1;
+
+    @Override
+    public void setResource(Resource resource) {
+        this.resource = resource;
+    }
+
+    public void setLineMapper(LineMapper<RoamingData> lineMapper) {
+        this.lineMapper = lineMapper;
+    }
+
+    public void setParser(RoamingCsvParser parser) {
+        this.parser = parser;
+    }
+
+    public void setStartOffset(long startOffset) {
+        this.startOffset = startOffset;
+    }
+
+    public void setEndOffset(long endOffset) {
+        this.endOffset = endOffset;
+    }
+
+    public void setHighWaterMarks(HighWaterMarks highWaterMarks) {
+        this.highWaterMarks = highWaterMarks;
+    }
+
+    /**
+     * 다음에 읽을 라인의 바이트 위치. read() 직후에는 방금 읽은 라인의 끝(개행 다음) 위치다.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        String key = getExecutionContextKey(POSITION_KEY);
+        restartPosition = isSaveState() && executionContext.containsKey(key) ? executionContext.getLong(key) : -1;
+        super.open(executionContext);
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        if (isSaveState()) {
+            executionContext.putLong(getExecutionContextKey(POSITION_KEY), position);
+        }
+    }
+
+    @Override
+    protected void doOpen() throws Exception {
+        Assert.notNull(resource, "Input resource must be set");
+        Assert.state(lineMapper != null || parser != null, "LineMapper or RoamingCsvParser must be set");
+
+        if (!resource.exists()) {
+            throw new IllegalStateException("Input resource must exist: " + resource);
+        }
+
+        readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        lineBuffer = new byte[INITIAL_LINE_BUFFER_SIZE];
+        charBuffer = new char[INITIAL_LINE_BUFFER_SIZE];
+        decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+        if (highWaterMarks != null) {
+            openIncremental();
+            return;
+        }
+
+        if (resource.isFile()) {
+            FileChannel fileChannel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ);
+            fileChannel.position(startOffset);
+            channel = fileChannel;
+            position = startOffset;
+        } else {
+            channel = Channels.newChannel(resource.getInputStream());
+            position = 0;
+            skipTo(startOffset);
+        }
+        readBuffer.clear();
+        readBuffer.flip();
+
+        log.debug("Opened {} at byte offset {} (end: {})", resource.getDescription(), startOffset, endOffset);
+    }
+
+    /**
+     * 헤더를 건너뛰고 HighWaterMarks 가 정한 구간으로 이동한다. 압축 파일은 구간 시작까지 읽어서 버리며,
+     * 그 밖에 seek 할 수 없는 리소스는 헤더 이후 전체를 읽는다.
+     */
+    private void openIncremental() throws IOException {
+        readBuffer.clear();
+        readBuffer.flip();
+        position = 0;
+
+        if (!resource.isFile()) {
+            channel = Channels.newChannel(resource.getInputStream());
+            readLine();
+            if (resource instanceof DecompressingResource compressed && compressed.getDelegate().isFile()) {
+                File file = compressed.getDelegate().getFile();
+                long[] range = highWaterMarks.compressedRange(file.toPath().toString(), file.length(), position, resource);
+                discardTo(range[0]);
+                endOffset = range[1];
+                log.debug("Opened {} incrementally at byte offset {} (end: {})",
+                    resource.getDescription(), range[0], range[1]);
+                return;
+            }
+            endOffset = Long.MAX_VALUE;
+            log.debug("Opened {} after header at byte offset {}", resource.getDescription(), position);
+            return;
+        }
+
+        FileChannel fileChannel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ);
+        channel = fileChannel;
+        readLine();
+        long[] range = highWaterMarks.range(resource.getFile().toPath().toString(), fileChannel, position);
+
+        fileChannel.position(range[0]);
+        position = range[0];
+        endOffset = range[1];
+        readBuffer.clear();
+        readBuffer.flip();
+
+        log.debug("Opened {} incrementally at byte offset {} (end: {})", resource.getDescription(), range[0], range[1]);
+    }
+
+    /**
+     * 재시작할 때 저장된 바이트 위치로 이동한다. 위치가 없거나 현재 구간을 벗어나면 item 수만큼 다시 읽는다.
+     */
+    @Override
+    protected void jumpToItem(int itemIndex) throws Exception {
+        if (restartPosition < position || restartPosition > endOffset) {
+            super.jumpToItem(itemIndex);
+            return;
+        }
+
+        if (channel instanceof FileChannel fileChannel) {
+            fileChannel.position(restartPosition);
+            position = restartPosition;
+            readBuffer.clear();
+            readBuffer.flip();
+        } else {
+            discardTo(restartPosition);
+        }
+
+        log.debug("Restarted {} at byte offset {} after {} items", resource.getDescription(), restartPosition, itemIndex);
+    }
+
+    @Override
+    protected RoamingData doRead() throws Exception {
+        if (position >= endOffset) {
+            return null;
+        }
+
+        long lineStart = position;
+        int length = readLine();
+        if (length < 0) {
+            return null;
+        }
+
+        if (parser != null) {
+            int chars = decodeLine(length);
+            try {
+                return parser.parse(charBuffer, 0, chars);
+            } catch (Exception e) {
+                throw parseError(lineStart, new String(charBuffer, 0, chars), e);
+            }
+        }
+
+        String line = new String(lineBuffer, 0, length, StandardCharsets.UTF_8);
+        try {
+            return lineMapper.mapLine(line, getCurrentItemCount());
+        } catch (Exception e) {
+            throw parseError(lineStart, line, e);
+        }
+    }
+
+    private FlatFileParseException parseError(long lineStart, String line, Exception e) {
+        return new FlatFileParseException("Parsing error at byte offset " + lineStart
+                + " in resource=[" + resource.getDescription() + "], input=[" + line + "]",
+                e, line, getCurrentItemCount());
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+        readBuffer = null;
+        lineBuffer = null;
+        charBuffer = null;
+        decoder = null;
+    }
+
+    /**
+     * 다음 라인을 lineBuffer 에 채우고 길이를 반환한다. 더 읽을 데이터가 없으면 -1 을 반환한다.
+     * 라인 끝의 '\n' 과 '\r' 은 포함하지 않는다.
+     */
+    private int readLine() throws IOException {
+        int length = 0;
+        boolean consumed = false;
+
+        while (true) {
+            if (!readBuffer.hasRemaining()) {
+                readBuffer.clear();
+                int read = channel.read(readBuffer);
+                readBuffer.flip();
+                if (read <= 0) {
+                    return consumed ? stripCarriageReturn(length) : -1;
+                }
+            }
+
+            byte[] bytes = readBuffer.array();
+            int from = readBuffer.position();
+            int limit = readBuffer.limit();
+            int newline = from;
+            while (newline < limit && bytes[newline] != '\n') {
+                newline++;
+            }
+
+            int chunk = newline - from;
+            ensureLineCapacity(length + chunk);
+            System.arraycopy(bytes, from, lineBuffer, length, chunk);
+            length += chunk;
+            consumed = true;
+
+            if (newline < limit) {
+                readBuffer.position(newline + 1);
+                position += chunk + 1;
+                return stripCarriageReturn(length);
+            }
+
+            readBuffer.position(limit);
+            position += chunk;
+        }
+    }
+
+    /**
+     * 읽기 버퍼에 남은 바이트부터 소비해 스트림의 offset 위치까지 건너뛴다.
+     */
+    private void discardTo(long offset) throws IOException {
+        int buffered = (int) Math.min(readBuffer.remaining(), Math.max(0, offset - position));
+        readBuffer.position(readBuffer.position() + buffered);
+        position += buffered;
+        if (position < offset) {
+            skipTo(offset);
+            readBuffer.clear();
+            readBuffer.flip();
+        }
+    }
+
+    /**
+     * 스트림을 offset 까지 읽어서 버린다.
+     */
+    private void skipTo(long offset) throws IOException {
+        while (position < offset) {
+            readBuffer.clear();
+            readBuffer.limit((int) Math.min(readBuffer.capacity(), offset - position));
+            int read = channel.read(readBuffer);
+            if (read < 0) {
+                break;
+            }
+            position += read;
+        }
+    }
+
+    /**
+     * lineBuffer 의 UTF-8 라인을 charBuffer 로 디코딩하고 문자 수를 반환한다.
+     * ASCII 라인은 바이트를 그대로 복사하고, 멀티바이트 문자가 있을 때만 CharsetDecoder 를 사용한다.
+     */
+    private int decodeLine(int length) {
+        if (charBuffer.length < length) {
+            charBuffer = new char[Math.max(length, charBuffer.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            byte b = lineBuffer[i];
+            if (b < 0) {
+                return decodeMultiByte(length);
+            }
+            charBuffer[i] = (char) b;
+        }
+        return length;
+    }
+
+    private int decodeMultiByte(int length) {
+        // UTF-8 디코딩 결과의 char 수는 바이트 수를 넘지 않는다
+        CharBuffer out = CharBuffer.wrap(charBuffer);
+        decoder.reset();
+        decoder.decode(ByteBuffer.wrap(lineBuffer, 0, length), out, true);
+        decoder.flush(out);
+        return out.position();
+    }
+
+    private int stripCarriageReturn(int length) {
+        if (length > 0 && lineBuffer[length - 1] == '\r') {
+            return length - 1;
+        }
+        return length;
+    }
+
+    private void ensureLineCapacity(int required) {
+        if (required > lineBuffer.length) {
+            lineBuffer = Arrays.copyOf(lineBuffer, Math.max(required, lineBuffer.length * 2));
+        }
+    }
+}
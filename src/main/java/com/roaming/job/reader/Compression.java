@@ -0,0 +1,42 @@
+package com.roaming.job.reader;
+
+import com.github.luben.zstd.ZstdInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 입력 파일의 압축 형식. 파일 확장자(.gz, .gzip, .zst)로 판단한다.
+ */
+public enum Compression {
+
+    NONE,
+    GZIP,
+    ZSTD;
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    public static Compression of(String filename) {
+        if (filename == null) {
+            return NONE;
+        }
+        String name = filename.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz") || name.endsWith(".gzip")) {
+            return GZIP;
+        }
+        if (name.endsWith(".zst")) {
+            return ZSTD;
+        }
+        return NONE;
+    }
+
+    public InputStream decompress(InputStream in) throws IOException {
+        return switch (this) {
+            case NONE -> in;
+            case GZIP -> new GZIPInputStream(in, GZIP_BUFFER_SIZE);
+            case ZSTD -> new ZstdInputStream(in);
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package com.roaming.job.reader;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 압축된 입력 파일을 압축 해제된 스트림으로 제공하는 Resource.
+ * 디스크에 압축을 풀지 않고 FlatFileItemReader 등이 바로 읽을 수 있다.
+ * 임의 위치로 seek 할 수 없으므로 {@link #isFile()} 은 false 를 반환한다.
+ */
+public class DecompressingResource extends AbstractResource {
+
+    private final Resource delegate;
+    private final Compression compression;
+
+    public DecompressingResource(Resource delegate, Compression compression) {
+        this.delegate = delegate;
+        this.compression = compression;
+    }
+
+    /**
+     * 파일 이름이 압축 확장자면 DecompressingResource 로 감싸고, 아니면 그대로 반환한다.
+     */
+    public static Resource wrapIfCompressed(Resource resource) {
+        Compression compression = Compression.of(resource.getFilename());
+        if (compression == Compression.NONE) {
+            return resource;
+        }
+        return new DecompressingResource(resource, compression);
+    }
+
+    public Resource getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return compression.decompress(delegate.getInputStream());
+    }
+
+    @Override
+    public boolean exists() {
+        return delegate.exists();
+    }
+
+    @Override
+    public boolean isReadable() {
+        return delegate.isReadable();
+    }
+
+    @Override
+    public String getFilename() {
+        return delegate.getFilename();
+    }
+
+    @Override
+    public String getDescription() {
+        return compression + " compressed " + delegate.getDescription();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return this == other || (other instanceof DecompressingResource that && delegate.equals(that.delegate));
+    }
+
+    @Override
+    public int hashCode() {
+        return delegate.hashCode();
+    }
+}
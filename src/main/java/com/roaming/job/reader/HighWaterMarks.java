@@ -0,0 +1,170 @@
+package com.roaming.job.reader;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.io.InputStreamSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+
+/**
+ * 증분 동기화에서 파일별로 처리를 마친 바이트 오프셋(high-water mark)을 Job ExecutionContext 에 기록한다.
+ * hwm.start.&lt;파일&gt; 은 이전에 완료된 실행이 남긴 값으로 이번 실행의 시작 위치이고,
+ * hwm.end.&lt;파일&gt; 은 이번 실행이 처리하는 마지막 위치로 다음 실행의 시작 위치가 된다.
+ * 실패한 실행을 재시작하면 ExecutionContext 가 복원되므로 시작 위치는 바뀌지 않는다.
+ *
+ * <p>입력 파일은 뒤에 라인이 추가되기만 한다고 가정한다. 압축 파일은 압축 해제된 바이트 기준의 위치와 함께
+ * hwm.size.&lt;파일&gt; 에 디스크상의 크기를 기록해, 크기가 그대로면 압축을 풀지 않고 건너뛴다.
+ */
+@Slf4j
+public class HighWaterMarks {
+
+    static final String START_PREFIX = "hwm.start.";
+    static final String END_PREFIX = "hwm.end.";
+    static final String SIZE_PREFIX = "hwm.size.";
+    static final String START_SIZE_PREFIX = "hwm.start-size.";
+
+    private static final int SCAN_BUFFER_SIZE = 8192;
+
+    private final ExecutionContext context;
+
+    public HighWaterMarks(ExecutionContext context) {
+        this.context = context;
+    }
+
+    /**
+     * 이전 실행이 남긴 마지막 위치를 이번 실행의 시작 위치로 복사한다.
+     * 이번 실행에서 읽지 않는 파일의 위치도 유지되도록 마지막 위치로도 복사하며, 이미 값이 있으면 그대로 둔다.
+     */
+    public int carryForward(ExecutionContext previous) {
+        int count = 0;
+        for (Map.Entry<String, Object> entry : previous.entrySet()) {
+            if (!entry.getKey().startsWith(END_PREFIX)) {
+                continue;
+            }
+            String file = entry.getKey().substring(END_PREFIX.length());
+            long offset = ((Number) entry.getValue()).longValue();
+            putIfAbsent(START_PREFIX + file, offset);
+            putIfAbsent(END_PREFIX + file, offset);
+            count++;
+        }
+        for (Map.Entry<String, Object> entry : previous.entrySet()) {
+            if (entry.getKey().startsWith(SIZE_PREFIX)) {
+                String file = entry.getKey().substring(SIZE_PREFIX.length());
+                long size = ((Number) entry.getValue()).longValue();
+                putIfAbsent(START_SIZE_PREFIX + file, size);
+                putIfAbsent(SIZE_PREFIX + file, size);
+            }
+        }
+        return count;
+    }
+
+    public long startOffset(String file) {
+        return context.getLong(START_PREFIX + file, 0L);
+    }
+
+    public long endOffset(String file) {
+        return context.getLong(END_PREFIX + file, 0L);
+    }
+
+    /**
+     * 이번 실행에서 file 의 [start, end) 구간을 처리하도록 정하고 end 를 기록한다.
+     * start 는 dataStart(헤더 다음)와 이전 실행의 마지막 위치 중 큰 값이다.
+     * end 는 마지막 개행 다음 위치로, 아직 쓰는 중일 수 있는 개행 없는 마지막 라인은 다음 실행으로 미룬다.
+     * 파일이 마지막 위치보다 작아졌으면 교체된 파일로 보고 처음부터 처리한다.
+     */
+    public long[] range(String file, FileChannel channel, long dataStart) throws IOException {
+        long fileSize = channel.size();
+        long mark = startOffset(file);
+
+        long start = dataStart;
+        if (mark > fileSize) {
+            log.warn("File is smaller than its high-water mark ({} > {}), reprocessing from the beginning: {}",
+                mark, fileSize, file);
+        } else {
+            start = Math.max(dataStart, mark);
+        }
+
+        long end = Math.max(start, lastLineEnd(channel, start, fileSize));
+        context.putLong(END_PREFIX + file, end);
+        return new long[]{start, end};
+    }
+
+    /**
+     * 압축 파일 file 의 [start, end) 구간을 정하고 end 와 디스크상의 크기를 기록한다. 오프셋은 압축 해제된 바이트 기준이다.
+     * 디스크상의 크기가 이전 실행이 끝났을 때와 같으면 압축을 풀지 않고 모두 처리한 것으로 본다 (start == end).
+     * 크기가 바뀌었으면(gzip 멤버나 zstd 프레임이 뒤에 추가된 경우) 압축을 풀어 전체 길이를 구하고 이전 실행의 위치부터 끝까지 처리한다.
+     * 압축 파일은 쓰는 중인 파일로 보지 않으므로 개행 없는 마지막 라인도 이번 실행에서 처리한다.
+     * 압축 해제된 길이가 이전 위치보다 작으면 교체된 파일로 보고 처음부터 처리한다.
+     */
+    public long[] compressedRange(String file, long compressedSize, long dataStart,
+                                  InputStreamSource decompressed) throws IOException {
+        long mark = startOffset(file);
+        String startSizeKey = START_SIZE_PREFIX + file;
+        if (mark > 0 && context.containsKey(startSizeKey) && context.getLong(startSizeKey) == compressedSize) {
+            long start = Math.max(dataStart, mark);
+            context.putLong(END_PREFIX + file, start);
+            context.putLong(SIZE_PREFIX + file, compressedSize);
+            return new long[]{start, start};
+        }
+
+        long length;
+        try (InputStream in = decompressed.getInputStream()) {
+            length = in.transferTo(OutputStream.nullOutputStream());
+        }
+
+        long start = dataStart;
+        if (mark > length) {
+            log.warn("Decompressed file is smaller than its high-water mark ({} > {}), reprocessing from the beginning: {}",
+                mark, length, file);
+        } else {
+            start = Math.max(dataStart, mark);
+        }
+
+        long end = Math.max(start, length);
+        context.putLong(END_PREFIX + file, end);
+        context.putLong(SIZE_PREFIX + file, compressedSize);
+        return new long[]{start, end};
+    }
+
+    /**
+     * [from, fileSize) 에서 마지막 '\n' 바로 다음 오프셋을 반환한다. 개행이 없으면 from 을 반환한다.
+     */
+    public static long lastLineEnd(FileChannel channel, long from, long fileSize) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long end = fileSize;
+
+        while (end > from) {
+            int length = (int) Math.min(SCAN_BUFFER_SIZE, end - from);
+            long position = end - length;
+            buffer.clear();
+            buffer.limit(length);
+            int read = 0;
+            while (read < length) {
+                int n = channel.read(buffer, position + read);
+                if (n < 0) {
+                    break;
+                }
+                read += n;
+            }
+            for (int i = read - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            end = position;
+        }
+
+        return from;
+    }
+
+    private void putIfAbsent(String key, long value) {
+        if (!context.containsKey(key)) {
+            context.putLong(key, value);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.roaming.job.reader;
+
+import com.roaming.domain.RoamingData;
+import org.springframework.batch.item.file.LineMapper;
+
+/**
+ * FlatFileItemReader 에서 {@link RoamingCsvParser} 를 사용하기 위한 LineMapper.
+ * 라인 문자열을 재사용 char 버퍼로 복사한 뒤 파싱하므로 토큰 배열과 FieldSet 을 만들지 않는다.
+ * 파서와 버퍼를 공유하므로 Reader 인스턴스마다 하나씩 생성한다.
+ */
+public class RoamingCsvLineMapper implements LineMapper<RoamingData> {
+
+    private final RoamingCsvParser parser = new RoamingCsvParser();
+    private char[] buffer = new char[256];
+
+    @Override
+    public RoamingData mapLine(String line, int lineNumber) {
+        int length = line.length();
+        if (buffer.length < length) {
+            buffer = new char[Math.max(length, buffer.length * 2)];
+        }
+        line.getChars(0, length, buffer, 0);
+        return parser.parse(buffer, 0, length);
+    }
+}
@@ -0,0 +1,202 @@
+package com.roaming.job.reader;
+
+import com.roaming.domain.RoamingData;
+import org.springframework.batch.item.file.transform.IncorrectTokenCountException;
+
+/**
+ * 로밍 CSV 한 라인(userId,deviceId,location,timestamp,status)을 문자 버퍼에서 바로 RoamingData 로 파싱한다.
+ * 토큰 배열이나 FieldSet 을 만들지 않고, 컬럼 경계만 재사용 배열에 기록한 뒤 필요한 값만 문자열로 만든다.
+ * location, status 처럼 종류가 적은 값은 캐시된 문자열을 재사용한다.
+ *
+ * <p>따옴표 규칙과 결과는 DelimitedLineTokenizer + {@link RoamingDataFieldSetMapper} 조합과 같다.
+ * 구분자는 따옴표 밖의 ',' 이고, 공백을 제외하고 '"' 로 감싼 값은 따옴표를 벗기며 '""' 는 '"' 로 바꾼다. 모든 값은 trim 된다.
+ *
+ * <p>내부 버퍼를 재사용하므로 스레드 안전하지 않다. Reader 인스턴스마다 하나씩 사용한다.
+ */
+public class RoamingCsvParser {
+
+    private static final int FIELD_COUNT = 5;
+    private static final int MAX_SAFE_DIGITS = 18;
+
+    private final int[] fieldStarts = new int[FIELD_COUNT];
+    private final int[] fieldEnds = new int[FIELD_COUNT];
+    private final StringCache locations = new StringCache(1024);
+    private final StringCache statuses = new StringCache(16);
+
+    private char[] scratch = new char[64];
+
+    public RoamingData parse(char[] line, int offset, int length) {
+        int end = offset + length;
+        int count = 0;
+        int fieldStart = offset;
+        boolean inQuoted = false;
+
+        for (int i = offset; i < end; i++) {
+            char c = line[i];
+            if (c == ',' && !inQuoted) {
+                markField(count++, fieldStart, i);
+                fieldStart = i + 1;
+            } else if (c == '"') {
+                inQuoted = !inQuoted;
+            }
+        }
+        if (length > 0) {
+            markField(count++, fieldStart, end);
+        }
+
+        if (count != FIELD_COUNT) {
+            throw new IncorrectTokenCountException(
+                    "Incorrect number of tokens found in record: expected " + FIELD_COUNT + " actual " + count,
+                    FIELD_COUNT, count, new String(line, offset, length));
+        }
+
+        return new RoamingData(
+                userId(line),
+                field(line, 1, null),
+                field(line, 2, locations),
+                field(line, 3, null),
+                field(line, 4, statuses)
+        );
+    }
+
+    private void markField(int index, int start, int end) {
+        if (index < FIELD_COUNT) {
+            fieldStarts[index] = start;
+            fieldEnds[index] = end;
+        }
+    }
+
+    private String field(char[] line, int index, StringCache cache) {
+        int start = fieldStarts[index];
+        int end = fieldEnds[index];
+        while (start < end && line[start] <= ' ') {
+            start++;
+        }
+        while (end > start && line[end - 1] <= ' ') {
+            end--;
+        }
+
+        if (end - start >= 2 && line[start] == '"' && line[end - 1] == '"') {
+            int unquotedLength = unquote(line, start + 1, end - 1);
+            int from = 0;
+            while (from < unquotedLength && scratch[from] <= ' ') {
+                from++;
+            }
+            while (unquotedLength > from && scratch[unquotedLength - 1] <= ' ') {
+                unquotedLength--;
+            }
+            return toString(scratch, from, unquotedLength - from, cache);
+        }
+
+        return toString(line, start, end - start, cache);
+    }
+
+    /**
+     * [start, end) 의 '""' 를 '"' 로 바꿔 scratch 에 복사하고 길이를 반환한다.
+     */
+    private int unquote(char[] line, int start, int end) {
+        if (scratch.length < end - start) {
+            scratch = new char[Math.max(end - start, scratch.length * 2)];
+        }
+        int length = 0;
+        for (int i = start; i < end; i++) {
+            char c = line[i];
+            scratch[length++] = c;
+            if (c == '"' && i + 1 < end && line[i + 1] == '"') {
+                i++;
+            }
+        }
+        return length;
+    }
+
+    private Long userId(char[] line) {
+        int start = fieldStarts[0];
+        int end = fieldEnds[0];
+        while (start < end && line[start] <= ' ') {
+            start++;
+        }
+        while (end > start && line[end - 1] <= ' ') {
+            end--;
+        }
+
+        int length = end - start;
+        if (length == 0) {
+            return null;
+        }
+        if (length > MAX_SAFE_DIGITS || line[start] == '"') {
+            String value = field(line, 0, null);
+            return value.isEmpty() ? null : Long.valueOf(value);
+        }
+
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = line[i] - '0';
+            if (digit < 0 || digit > 9) {
+                // 부호 등 일반적이지 않은 형식은 Long.valueOf 의 규칙과 예외를 그대로 따른다
+                return Long.valueOf(new String(line, start, length));
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static String toString(char[] chars, int offset, int length, StringCache cache) {
+        if (cache == null) {
+            return new String(chars, offset, length);
+        }
+        return cache.get(chars, offset, length);
+    }
+
+    /**
+     * 고정 크기 direct-mapped 문자열 캐시. 같은 슬롯에 다른 값이 들어오면 덮어쓰므로 메모리가 제한된다.
+     */
+    static final class StringCache {
+
+        private static final int MAX_CACHED_LENGTH = 64;
+
+        private final String[] table;
+        private final int mask;
+
+        StringCache(int capacity) {
+            int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+            this.table = new String[size];
+            this.mask = size - 1;
+        }
+
+        String get(char[] chars, int offset, int length) {
+            if (length == 0) {
+                return "";
+            }
+            if (length > MAX_CACHED_LENGTH) {
+                return new String(chars, offset, length);
+            }
+
+            int hash = 0;
+            for (int i = 0; i < length; i++) {
+                hash = 31 * hash + chars[offset + i];
+            }
+            int slot = (hash ^ (hash >>> 16)) & mask;
+
+            String cached = table[slot];
+            if (cached != null && matches(cached, chars, offset, length)) {
+                return cached;
+            }
+
+            String value = new String(chars, offset, length);
+            table[slot] = value;
+            return value;
+        }
+
+        private static boolean matches(String cached, char[] chars, int offset, int length) {
+            if (cached.length() != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (cached.charAt(i) != chars[offset + i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
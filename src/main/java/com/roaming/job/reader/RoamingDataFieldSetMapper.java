@@ -0,0 +1,34 @@
+package com.roaming.job.reader;
+
+import com.roaming.domain.RoamingData;
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
+import org.springframework.batch.item.file.transform.FieldSet;
+
+/**
+ * 컬럼 인덱스로 RoamingData 를 직접 채우는 FieldSetMapper.
+ * BeanWrapperFieldSetMapper 의 프로퍼티 탐색과 타입 변환을 거치지 않는다.
+ * 컬럼 순서: userId, deviceId, location, timestamp, status
+ */
+public class RoamingDataFieldSetMapper implements FieldSetMapper<RoamingData> {
+
+    @Override
+    public RoamingData mapFieldSet(FieldSet fieldSet) {
+        return new RoamingData(
+                readUserId(fieldSet.readString(0)),
+                fieldSet.readString(1),
+                fieldSet.readString(2),
+                fieldSet.readString(3),
+                fieldSet.readString(4)
+        );
+    }
+
+    /**
+     * BeanWrapperFieldSetMapper 와 동일하게 빈 값은 null 로 매핑한다.
+     */
+    private Long readUserId(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        return Long.valueOf(value);
+    }
+}
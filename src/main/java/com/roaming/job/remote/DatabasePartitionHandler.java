@@ -0,0 +1,170 @@
+package com.roaming.job.remote;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.partition.support.AbstractPartitionHandler;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.Assert;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 원격 파티셔닝의 manager 쪽 PartitionHandler. 메시지 브로커 없이 공유 JobRepository DB 를 통해 파티션을 나눠 준다.
+ *
+ * <p>StepExecutionSplitter 가 파티션 StepExecution 을 STARTING 상태로 저장하면, 다른 JVM 의 {@link RemotePartitionWorker} 가
+ * BATCH_STEP_EXECUTION 을 조회해 하나씩 가져가 실행한다. 이 핸들러는 모든 파티션이 끝난 상태가 될 때까지
+ * JobExplorer 로 파티션 상태를 주기적으로 확인하고, 끝난 StepExecution 을 집계용으로 반환한다.
+ *
+ * <p>lease 를 지정하면 STARTED 파티션의 LAST_UPDATED(worker heartbeat) 가 lease 보다 오래된 경우 worker 가 죽은 것으로 보고
+ * 파티션을 다시 STARTING 으로 돌려 다른 worker 가 ExecutionContext 의 체크포인트부터 이어서 실행하게 한다.
+ * maxRequeues 번 다시 돌린 뒤에도 lease 가 지나면 파티션을 FAILED 로 끝낸다. VERSION 을 올리므로 죽은 줄 알았던 worker 가
+ * 계속 실행 중이었다면 다음 chunk 커밋이 낙관적 락 오류로 롤백된다. 모든 JVM 의 시계가 맞춰져 있어야 한다.
+ *
+ * <p>timeout 안에 끝나지 않으면 manager Step 이 실패한다. 재시작하면 완료되지 않은 파티션만 다시 STARTING 으로 만들어진다.
+ */
+@Slf4j
+public class DatabasePartitionHandler extends AbstractPartitionHandler implements InitializingBean {
+
+    private JobExplorer jobExplorer;
+    private JdbcTemplate jdbcTemplate;
+    private String tablePrefix = "BATCH_";
+    private Duration pollInterval = Duration.ofSeconds(1);
+    private Duration timeout = Duration.ofHours(1);
+    private Duration lease;
+    private int maxRequeues = 1;
+
+    private String requeueSql;
+    private String failSql;
+
+    public void setJobExplorer(JobExplorer jobExplorer) {
+        this.jobExplorer = jobExplorer;
+    }
+
+    public void setJdbcTemplate(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void setTablePrefix(String tablePrefix) {
+        this.tablePrefix = tablePrefix;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * null 이면 heartbeat 를 확인하지 않는다.
+     */
+    public void setLease(Duration lease) {
+        this.lease = lease;
+    }
+
+    public void setMaxRequeues(int maxRequeues) {
+        this.maxRequeues = maxRequeues;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(jobExplorer, "A JobExplorer must be provided");
+        Assert.isTrue(!pollInterval.isNegative() && !pollInterval.isZero(), "pollInterval must be positive");
+        if (lease != null) {
+            Assert.notNull(jdbcTemplate, "A JdbcTemplate must be provided when a lease is set");
+            Assert.isTrue(!lease.isNegative() && !lease.isZero(), "lease must be positive");
+            Assert.isTrue(maxRequeues >= 0, "maxRequeues must not be negative");
+        }
+
+        // LAST_UPDATED 조건으로 그 사이 heartbeat 가 온 파티션은 건드리지 않는다
+        requeueSql = "UPDATE " + tablePrefix + "STEP_EXECUTION SET STATUS = 'STARTING', VERSION = VERSION + 1, LAST_UPDATED = ?"
+                + " WHERE STEP_EXECUTION_ID = ? AND STATUS = 'STARTED' AND LAST_UPDATED < ?";
+        failSql = "UPDATE " + tablePrefix + "STEP_EXECUTION SET STATUS = 'FAILED', EXIT_CODE = 'FAILED', EXIT_MESSAGE = ?,"
+                + " END_TIME = ?, VERSION = VERSION + 1, LAST_UPDATED = ?"
+                + " WHERE STEP_EXECUTION_ID = ? AND STATUS = 'STARTED' AND LAST_UPDATED < ?";
+    }
+
+    @Override
+    protected Set<StepExecution> doHandle(StepExecution managerStepExecution,
+                                          Set<StepExecution> partitionStepExecutions) throws Exception {
+        Long jobExecutionId = managerStepExecution.getJobExecutionId();
+        Map<Long, StepExecution> pending = new HashMap<>();
+        partitionStepExecutions.forEach(stepExecution -> pending.put(stepExecution.getId(), stepExecution));
+        Set<StepExecution> finished = new HashSet<>();
+        Map<Long, Integer> requeues = new HashMap<>();
+
+        log.info("Waiting for remote workers to run {} partitions of job execution {}", pending.size(), jobExecutionId);
+        long deadline = System.nanoTime() + timeout.toNanos();
+
+        while (!pending.isEmpty()) {
+            pending.values().removeIf(stepExecution -> {
+                StepExecution current = jobExplorer.getStepExecution(jobExecutionId, stepExecution.getId());
+                if (current == null) {
+                    return false;
+                }
+                if (current.getStatus().isRunning()) {
+                    if (isLeaseExpired(current)) {
+                        requeueOrFail(current, requeues);
+                    }
+                    return false;
+                }
+                finished.add(current);
+                log.debug("Partition {} finished with {}", current.getStepName(), current.getStatus());
+                return true;
+            });
+
+            if (pending.isEmpty()) {
+                break;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new TimeoutException("Timed out after " + timeout + " waiting for " + pending.size()
+                        + " remote partitions of job execution " + jobExecutionId);
+            }
+            Thread.sleep(pollInterval.toMillis());
+        }
+        return finished;
+    }
+
+    private boolean isLeaseExpired(StepExecution stepExecution) {
+        return lease != null
+                && stepExecution.getStatus() == BatchStatus.STARTED
+                && stepExecution.getLastUpdated() != null
+                && stepExecution.getLastUpdated().isBefore(LocalDateTime.now().minus(lease));
+    }
+
+    /**
+     * heartbeat 가 끊긴 파티션을 다시 STARTING 으로 돌린다. maxRequeues 번 돌린 뒤에는 FAILED 로 끝낸다.
+     */
+    private void requeueOrFail(StepExecution stepExecution, Map<Long, Integer> requeues) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp expiredBefore = Timestamp.valueOf(now.minus(lease));
+        int requeued = requeues.getOrDefault(stepExecution.getId(), 0);
+
+        if (requeued < maxRequeues) {
+            if (jdbcTemplate.update(requeueSql, Timestamp.valueOf(now), stepExecution.getId(), expiredBefore) == 1) {
+                requeues.put(stepExecution.getId(), requeued + 1);
+                log.warn("No heartbeat from the worker of partition {} since {}, requeued it ({}/{})",
+                        stepExecution.getStepName(), stepExecution.getLastUpdated(), requeued + 1, maxRequeues);
+            }
+            return;
+        }
+
+        String message = "No heartbeat from the remote worker since " + stepExecution.getLastUpdated()
+                + " (lease " + lease + ", requeued " + requeued + " times)";
+        if (jdbcTemplate.update(failSql, message, Timestamp.valueOf(now), Timestamp.valueOf(now),
+                stepExecution.getId(), expiredBefore) == 1) {
+            log.error("Partition {} failed: {}", stepExecution.getStepName(), message);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.roaming.job.remote;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.Assert;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 원격 파티셔닝의 worker. 공유 JobRepository 의 BATCH_STEP_EXECUTION 에서 실행 중인 Job 의 STARTING 상태 파티션을 찾아
+ * 가져간 뒤 워커 Step 으로 실행한다. {@link DatabasePartitionHandler} 를 쓰는 manager 와 함께 사용한다.
+ *
+ * <p>여러 JVM 이 같은 파티션을 가져가지 않도록 STATUS 가 STARTING 인 경우에만 STARTED 로 바꾸는 UPDATE 로 선점하고,
+ * 갱신된 row 가 있을 때만 실행한다. 파티션의 입력 파일은 모든 worker 에서 같은 경로로 접근할 수 있어야 한다.
+ *
+ * <p>concurrency 개의 스레드가 각자 파티션을 가져가 실행하며, 가져갈 파티션이 없으면 pollInterval 만큼 기다린다.
+ *
+ * <p>실행 중인 파티션은 heartbeatInterval 마다 LAST_UPDATED 를 갱신한다. VERSION 은 바꾸지 않으므로 Step 의 갱신과 충돌하지 않는다.
+ * worker 가 죽어 LAST_UPDATED 가 lease 보다 오래되면 manager 가 파티션을 다시 STARTING 으로 돌리거나 실패로 처리한다.
+ */
+@Slf4j
+public class RemotePartitionWorker implements SmartLifecycle, InitializingBean {
+
+    private JdbcTemplate jdbcTemplate;
+    private JobExplorer jobExplorer;
+    private Step step;
+    private String tablePrefix = "BATCH_";
+    private int concurrency = 1;
+    private long pollIntervalMillis = 1000;
+    private long heartbeatIntervalMillis = 10_000;
+
+    private String findSql;
+    private String claimSql;
+    private String heartbeatSql;
+
+    private volatile boolean running;
+    private final List<Thread> threads = new ArrayList<>();
+    private final Set<Long> runningPartitions = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService heartbeat;
+
+    public void setJdbcTemplate(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void setJobExplorer(JobExplorer jobExplorer) {
+        this.jobExplorer = jobExplorer;
+    }
+
+    public void setStep(Step step) {
+        this.step = step;
+    }
+
+    public void setTablePrefix(String tablePrefix) {
+        this.tablePrefix = tablePrefix;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public void setPollIntervalMillis(long pollIntervalMillis) {
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    public void setHeartbeatIntervalMillis(long heartbeatIntervalMillis) {
+        this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(jdbcTemplate, "A JdbcTemplate must be provided");
+        Assert.notNull(jobExplorer, "A JobExplorer must be provided");
+        Assert.notNull(step, "A Step must be provided");
+        Assert.isTrue(concurrency > 0, "concurrency must be greater than zero");
+        Assert.isTrue(heartbeatIntervalMillis > 0, "heartbeatIntervalMillis must be greater than zero");
+
+        findSql = "SELECT se.STEP_EXECUTION_ID, se.JOB_EXECUTION_ID FROM " + tablePrefix + "STEP_EXECUTION se"
+                + " JOIN " + tablePrefix + "JOB_EXECUTION je ON je.JOB_EXECUTION_ID = se.JOB_EXECUTION_ID"
+                + " WHERE se.STEP_NAME LIKE ? AND se.STATUS = 'STARTING' AND je.STATUS IN ('STARTING', 'STARTED')"
+                + " ORDER BY se.STEP_EXECUTION_ID";
+        claimSql = "UPDATE " + tablePrefix + "STEP_EXECUTION SET STATUS = 'STARTED', VERSION = VERSION + 1, LAST_UPDATED = ?"
+                + " WHERE STEP_EXECUTION_ID = ? AND STATUS = 'STARTING'";
+        heartbeatSql = "UPDATE " + tablePrefix + "STEP_EXECUTION SET LAST_UPDATED = ?"
+                + " WHERE STEP_EXECUTION_ID = ? AND STATUS IN ('STARTED', 'STOPPING')";
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "remote-worker-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleWithFixedDelay(this::heartbeat,
+                heartbeatIntervalMillis, heartbeatIntervalMillis, TimeUnit.MILLISECONDS);
+        for (int i = 0; i < concurrency; i++) {
+            Thread thread = new Thread(this::run, "remote-worker-" + i);
+            thread.setDaemon(true);
+            threads.add(thread);
+            thread.start();
+        }
+        log.info("Remote partition worker polling for {} partitions with {} threads", step.getName(), concurrency);
+    }
+
+    /**
+     * 새 파티션을 가져가지 않고, 실행 중인 파티션이 끝날 때까지 기다린다.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        for (Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        threads.clear();
+        if (heartbeat != null) {
+            heartbeat.shutdownNow();
+            heartbeat = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                Optional<StepExecution> claimed = claimNext();
+                if (claimed.isPresent()) {
+                    execute(claimed.get());
+                } else {
+                    Thread.sleep(pollIntervalMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("Remote partition polling failed", e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * 실행할 수 있는 파티션 하나를 선점한다. 다른 worker 가 먼저 가져간 파티션은 건너뛴다.
+     */
+    Optional<StepExecution> claimNext() {
+        List<long[]> candidates = jdbcTemplate.query(findSql,
+                (rs, rowNum) -> new long[]{rs.getLong(1), rs.getLong(2)}, step.getName() + ":%");
+
+        for (long[] candidate : candidates) {
+            int updated = jdbcTemplate.update(claimSql, Timestamp.valueOf(LocalDateTime.now()), candidate[0]);
+            if (updated == 1) {
+                // 선점으로 바뀐 VERSION 을 반영하기 위해 다시 읽는다
+                return Optional.ofNullable(jobExplorer.getStepExecution(candidate[1], candidate[0]));
+            }
+        }
+        return Optional.empty();
+    }
+
+    void execute(StepExecution stepExecution) {
+        log.info("Executing remote partition {} of job execution {}",
+                stepExecution.getStepName(), stepExecution.getJobExecutionId());
+        runningPartitions.add(stepExecution.getId());
+        try {
+            step.execute(stepExecution);
+        } catch (Throwable e) {
+            // Step 안에서 처리되지 않은 예외. 상태가 갱신되지 않았으면 manager 는 lease 가 지난 뒤 실패를 알게 된다
+            log.error("Remote partition {} failed", stepExecution.getStepName(), e);
+        } finally {
+            runningPartitions.remove(stepExecution.getId());
+        }
+        if (stepExecution.getStatus() != BatchStatus.COMPLETED) {
+            log.warn("Remote partition {} finished with {}", stepExecution.getStepName(), stepExecution.getStatus());
+        }
+    }
+
+    /**
+     * 실행 중인 파티션의 LAST_UPDATED 를 갱신해 manager 에게 살아 있음을 알린다.
+     */
+    void heartbeat() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (Long stepExecutionId : runningPartitions) {
+            try {
+                jdbcTemplate.update(heartbeatSql, now, stepExecutionId);
+            } catch (Exception e) {
+                log.warn("Failed to send heartbeat for step execution {}: {}", stepExecutionId, e.getMessage());
+            }
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollIntervalMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
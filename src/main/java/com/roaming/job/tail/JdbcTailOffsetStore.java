@@ -0,0 +1,46 @@
+package com.roaming.job.tail;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * roaming_tail_offset 테이블에 파일별 위치를 저장한다. JdbcTemplate 은 Writer 와 같은 DataSource 를 사용해야
+ * 위치가 micro-batch 와 같은 트랜잭션으로 커밋된다.
+ */
+public class JdbcTailOffsetStore implements TailOffsetStore {
+
+    private static final String SELECT_SQL = "SELECT file_path, byte_offset FROM roaming_tail_offset";
+    private static final String UPDATE_SQL =
+            "UPDATE roaming_tail_offset SET byte_offset = ?, updated_at = ? WHERE file_path = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO roaming_tail_offset (file_path, byte_offset, updated_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcTailOffsetStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Map<String, Long> load() {
+        Map<String, Long> offsets = new HashMap<>();
+        jdbcTemplate.query(SELECT_SQL, rs -> {
+            offsets.put(rs.getString(1), rs.getLong(2));
+        });
+        return offsets;
+    }
+
+    @Override
+    public void save(Map<String, Long> offsets) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        offsets.forEach((file, offset) -> {
+            if (jdbcTemplate.update(UPDATE_SQL, offset, now, file) == 0) {
+                jdbcTemplate.update(INSERT_SQL, file, offset, now);
+            }
+        });
+    }
+}
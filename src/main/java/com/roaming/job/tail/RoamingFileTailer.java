@@ -0,0 +1,515 @@
+package com.roaming.job.tail;
+
+import com.roaming.domain.RoamingData;
+import com.roaming.domain.RoamingStatusEntity;
+import com.roaming.job.partitioner.ByteRangePartitioner;
+import com.roaming.job.reader.ByteRangeCsvItemReader;
+import com.roaming.job.reader.HighWaterMarks;
+import com.roaming.job.reader.RoamingCsvParser;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 소스 디렉터리의 CSV 파일을 주기적으로 확인해 뒤에 추가된 라인을 읽고, Processor 를 거쳐 micro-batch 로 쓰는 tail 모드.
+ * 모인 레코드가 flushSize 개가 되거나 첫 레코드가 들어온 뒤 flushInterval 이 지나면 하나의 트랜잭션으로 쓴다.
+ *
+ * <p>개행으로 끝나지 않은 마지막 라인은 다음 확인 때 읽는다. 시작 시점에 있던 파일은 끝에서부터(fromBeginning 이 false 일 때),
+ * 이후에 생긴 파일은 헤더 다음부터 읽는다. 파일이 읽은 위치보다 작아지면 교체된 파일로 보고 처음부터 다시 읽는다.
+ * 라인은 parser(기본값 RoamingCsvParser) 또는 lineMapper 로 파싱한다.
+ *
+ * <p>읽은 위치는 버퍼에 넘긴(또는 건너뛴) 마지막 레코드까지만 앞당기고, offsetStore 에는 쓰기까지 끝난 위치를
+ * micro-batch 와 같은 트랜잭션으로 저장한다. offsetStore 가 있으면 다시 시작할 때 저장된 위치부터 읽으므로 중단된 동안
+ * 추가된 라인이나 쓰지 못하고 멈춘 레코드를 잃지 않는다. 이때 저장된 위치가 없는 파일은 중단된 동안 생긴 파일로 보고
+ * 처음부터 읽으며, fromBeginning 은 저장된 위치가 하나도 없는 첫 시작에만 적용된다. offsetStore 가 없으면 위치는 메모리에만 유지한다.
+ *
+ * <p>쓰기에 실패하면 같은 micro-batch 를 flushInterval 간격으로 다시 시도하며, 그동안 새 라인은 읽지 않는다.
+ * retryLimit 번 다시 시도해도 실패하면 레코드마다 따로 써서 실패하는 레코드만 건너뛴다. 이때 TransientDataAccessException 이
+ * 발생하면 남은 레코드는 그대로 두고 다시 micro-batch 로 시도한다.
+ * 파싱할 수 없는 라인, Processor 에서 IllegalArgumentException 이 발생한 레코드도 건너뛰며,
+ * 건너뛴 건수가 skipLimit 을 넘으면 배치 Step 과 마찬가지로 실패로 보고 tail 을 멈춘다.
+ */
+@Slf4j
+public class RoamingFileTailer implements SmartLifecycle, InitializingBean {
+
+    private Path directory;
+    private String filePattern = "*.csv";
+    private ItemProcessor<RoamingData, RoamingStatusEntity> processor;
+    private ItemWriter<RoamingStatusEntity> writer;
+    private TransactionTemplate transactionTemplate;
+    private int flushSize = 500;
+    private long flushIntervalMillis = 1000;
+    private long pollIntervalMillis = 200;
+    private boolean fromBeginning;
+    private RoamingCsvParser parser;
+    private LineMapper<RoamingData> lineMapper;
+    private int retryLimit = 3;
+    private int skipLimit = 5;
+    private TailOffsetStore offsetStore;
+
+    // 버퍼에 넘기거나 건너뛴 마지막 레코드의 끝 위치
+    private final Map<Path, Long> positions = new HashMap<>();
+    // offsetStore 에 커밋된 위치
+    private final Map<Path, Long> savedOffsets = new HashMap<>();
+    private final List<Pending> buffer = new ArrayList<>();
+    private long firstBufferedAt;
+    private int failedFlushes;
+    private int skipCount;
+    private boolean skipLimitExceeded;
+    private PathMatcher matcher;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public void setDirectory(Path directory) {
+        this.directory = directory;
+    }
+
+    public void setFilePattern(String filePattern) {
+        this.filePattern = filePattern;
+    }
+
+    public void setProcessor(ItemProcessor<RoamingData, RoamingStatusEntity> processor) {
+        this.processor = processor;
+    }
+
+    public void setWriter(ItemWriter<RoamingStatusEntity> writer) {
+        this.writer = writer;
+    }
+
+    public void setTransactionTemplate(TransactionTemplate transactionTemplate) {
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    public void setFlushSize(int flushSize) {
+        this.flushSize = flushSize;
+    }
+
+    public void setFlushIntervalMillis(long flushIntervalMillis) {
+        this.flushIntervalMillis = flushIntervalMillis;
+    }
+
+    public void setPollIntervalMillis(long pollIntervalMillis) {
+        this.pollIntervalMillis = pollIntervalMillis;
+    }
+
+    public void setFromBeginning(boolean fromBeginning) {
+        this.fromBeginning = fromBeginning;
+    }
+
+    public void setParser(RoamingCsvParser parser) {
+        this.parser = parser;
+        this.lineMapper = null;
+    }
+
+    public void setLineMapper(LineMapper<RoamingData> lineMapper) {
+        this.lineMapper = lineMapper;
+        this.parser = null;
+    }
+
+    public void setRetryLimit(int retryLimit) {
+        this.retryLimit = retryLimit;
+    }
+
+    public void setSkipLimit(int skipLimit) {
+        this.skipLimit = skipLimit;
+    }
+
+    public void setOffsetStore(TailOffsetStore offsetStore) {
+        this.offsetStore = offsetStore;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        Assert.notNull(directory, "Directory must be set");
+        Assert.notNull(processor, "Processor must be set");
+        Assert.notNull(writer, "Writer must be set");
+        Assert.notNull(transactionTemplate, "TransactionTemplate must be set");
+        Assert.state(flushSize > 0, "Flush size must be positive");
+        Assert.state(retryLimit >= 0, "Retry limit must not be negative");
+        Assert.state(skipLimit >= 0, "Skip limit must not be negative");
+
+        if (parser == null && lineMapper == null) {
+            parser = new RoamingCsvParser();
+        }
+
+        matcher = FileSystems.getDefault().getPathMatcher("glob:" + filePattern);
+        Map<String, Long> stored = offsetStore != null ? offsetStore.load() : Map.of();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        for (Path file : listFiles()) {
+            Long offset = stored.get(key(file));
+            if (offset != null) {
+                positions.put(file, offset);
+                savedOffsets.put(file, offset);
+            } else if (!fromBeginning && stored.isEmpty()) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    positions.put(file, HighWaterMarks.lastLineEnd(channel, 0, channel.size()));
+                }
+            }
+        }
+        if (!stored.isEmpty()) {
+            log.info("Resuming tailing of {} files from stored offsets", savedOffsets.size());
+        }
+
+        // 다음 시작이 첫 시작으로 취급되지 않도록 시작 위치를 저장한다
+        Map<Path, Long> initial = new HashMap<>();
+        for (Path file : listFiles()) {
+            if (!savedOffsets.containsKey(file)) {
+                initial.put(file, positions.getOrDefault(file, 0L));
+            }
+        }
+        saveOffsets(initial);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        worker = new Thread(this::run, "roaming-tail");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("Tailing {} in {} (flush: {} records or {} ms)",
+            filePattern, directory.toAbsolutePath(), flushSize, flushIntervalMillis);
+    }
+
+    /**
+     * 읽기를 멈추고 남은 레코드를 쓴 뒤 반환한다.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!buffer.isEmpty()) {
+            log.warn("Stopped tailing with {} records not written{}", buffer.size(),
+                offsetStore != null ? ", they will be read again on the next start" : "");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                poll();
+                flushIfDue();
+                Thread.sleep(pollIntervalMillis);
+            } catch (InterruptedException e) {
+                break;
+            } catch (Exception e) {
+                log.error("Error while tailing {}: {}", directory, e.getMessage(), e);
+                sleepQuietly(flushIntervalMillis);
+            }
+        }
+
+        // 남은 레코드도 retryLimit 번까지 다시 시도하고, 끝내 쓰지 못한 레코드는 저장된 위치부터 다음 시작 때 다시 읽는다
+        for (int attempt = 0; !buffer.isEmpty() && !skipLimitExceeded && attempt <= retryLimit; attempt++) {
+            if (tryFlush()) {
+                log.info("Flushed remaining records before stopping");
+            } else if (!buffer.isEmpty()) {
+                sleepQuietly(flushIntervalMillis);
+            }
+        }
+    }
+
+    /**
+     * 모든 대상 파일에서 새로 추가된 완전한 라인을 읽어 처리한다. 쓰기에 실패한 micro-batch 가 남아 있으면 읽지 않는다.
+     */
+    void poll() throws Exception {
+        if (skipLimitExceeded || buffer.size() >= flushSize && !tryFlush()) {
+            return;
+        }
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        for (Path file : listFiles()) {
+            readAppended(file);
+            if (skipLimitExceeded) {
+                return;
+            }
+        }
+    }
+
+    void flushIfDue() {
+        if (skipLimitExceeded) {
+            return;
+        }
+        if (buffer.isEmpty()) {
+            // 걸러지거나 건너뛴 레코드만 읽었으면 위치만 저장한다
+            saveOffsets(flushedOffsets(0));
+        } else if (System.currentTimeMillis() - firstBufferedAt >= flushIntervalMillis) {
+            tryFlush();
+        }
+    }
+
+    private List<Path> listFiles() throws IOException {
+        try (var stream = Files.list(directory)) {
+            return stream
+                    .filter(Files::isRegularFile)
+                    .filter(file -> matcher.matches(file.getFileName()))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void readAppended(Path file) throws Exception {
+        long position = positions.getOrDefault(file, 0L);
+        long end;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < position) {
+                log.warn("File was truncated or replaced, reading from the beginning: {}", file);
+                position = 0;
+            }
+            if (position == 0) {
+                // 헤더 라인이 완성된 뒤 그 다음부터 읽는다
+                if (HighWaterMarks.lastLineEnd(channel, 0, fileSize) == 0) {
+                    return;
+                }
+                position = ByteRangePartitioner.nextLineStart(channel, 0);
+            }
+            end = HighWaterMarks.lastLineEnd(channel, position, fileSize);
+        }
+        if (end <= position) {
+            positions.put(file, position);
+            return;
+        }
+
+        ByteRangeCsvItemReader reader = new ByteRangeCsvItemReader();
+        reader.setName("roamingFileTailer");
+        reader.setSaveState(false);
+        reader.setResource(new FileSystemResource(file));
+        if (lineMapper != null) {
+            reader.setLineMapper(lineMapper);
+        } else {
+            reader.setParser(parser);
+        }
+        reader.setStartOffset(position);
+        reader.setEndOffset(end);
+        reader.open(new ExecutionContext());
+        try {
+            // 읽기를 멈추면 위치는 마지막으로 넘긴 레코드까지만 앞당긴다
+            while (!skipLimitExceeded) {
+                long lineStart = reader.getPosition();
+                RoamingData item;
+                try {
+                    item = reader.read();
+                } catch (FlatFileParseException e) {
+                    skip("unparsable line in " + file.getFileName(), e);
+                    if (!skipLimitExceeded) {
+                        positions.put(file, reader.getPosition());
+                    }
+                    continue;
+                }
+                if (item == null) {
+                    break;
+                }
+                positions.put(file, reader.getPosition());
+                if (!process(file, lineStart, item)) {
+                    positions.put(file, lineStart);
+                    break;
+                }
+                if (buffer.size() >= flushSize) {
+                    // 쓰기가 계속 실패해 멈추는 중이다
+                    break;
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * 레코드를 처리해 버퍼에 넣는다. skipLimit 을 넘겨 레코드를 넘기지 못했으면 false 를 반환한다.
+     */
+    private boolean process(Path file, long lineStart, RoamingData item) throws Exception {
+        RoamingStatusEntity entity;
+        try {
+            entity = processor.process(item);
+        } catch (IllegalArgumentException e) {
+            skip("record of device " + item.getDeviceId(), e);
+            return !skipLimitExceeded;
+        }
+        if (entity == null) {
+            return true;
+        }
+
+        if (buffer.isEmpty()) {
+            firstBufferedAt = System.currentTimeMillis();
+        }
+        buffer.add(new Pending(file, lineStart, entity));
+        while (buffer.size() >= flushSize && !tryFlush()) {
+            // 쓰기가 성공할 때까지 읽기를 멈춘다
+            if (!running || skipLimitExceeded) {
+                break;
+            }
+            Thread.sleep(flushIntervalMillis);
+        }
+        return true;
+    }
+
+    private boolean tryFlush() {
+        long latency = System.currentTimeMillis() - firstBufferedAt;
+        Chunk<RoamingStatusEntity> chunk = new Chunk<>(buffer.stream().map(Pending::entity).toList());
+        Map<Path, Long> offsets = flushedOffsets(buffer.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                write(chunk);
+                storeOffsets(offsets);
+            });
+        } catch (Exception e) {
+            if (++failedFlushes <= retryLimit) {
+                log.error("Failed to write {} records, will retry ({}/{}): {}",
+                    chunk.size(), failedFlushes, retryLimit, e.getMessage());
+                return false;
+            }
+            log.error("Failed to write {} records after {} retries, writing them one by one: {}",
+                chunk.size(), retryLimit, e.getMessage());
+            return scanBuffer();
+        }
+
+        log.debug("Wrote {} records ({} ms after the first record was read)", chunk.size(), latency);
+        buffer.clear();
+        savedOffsets.putAll(offsets);
+        failedFlushes = 0;
+        return true;
+    }
+
+    /**
+     * 버퍼의 레코드를 하나씩 각자의 트랜잭션으로 써서 실패하는 레코드만 건너뛴다.
+     * 일시적인 DB 오류가 나거나 skipLimit 을 넘으면 남은 레코드를 버퍼에 두고 false 를 반환한다.
+     */
+    private boolean scanBuffer() {
+        failedFlushes = 0;
+        int written = 0;
+        while (!buffer.isEmpty()) {
+            RoamingStatusEntity entity = buffer.get(0).entity();
+            Map<Path, Long> offsets = flushedOffsets(1);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    write(new Chunk<>(List.of(entity)));
+                    storeOffsets(offsets);
+                });
+                savedOffsets.putAll(offsets);
+                written++;
+            } catch (TransientDataAccessException e) {
+                log.error("Failed to write record of device {}, will retry {} records: {}",
+                    entity.getDeviceId(), buffer.size(), e.getMessage());
+                return false;
+            } catch (Exception e) {
+                skip("record of device " + entity.getDeviceId(), e);
+                if (skipLimitExceeded) {
+                    return false;
+                }
+            }
+            buffer.remove(0);
+        }
+
+        // 마지막 레코드를 건너뛰었으면 그 위치도 저장한다
+        saveOffsets(flushedOffsets(0));
+        log.debug("Wrote {} records one by one", written);
+        return true;
+    }
+
+    /**
+     * 버퍼의 앞에서 flushed 개가 쓰였을 때 파일별로 쓰기까지 끝난 위치. 남은 레코드가 있는 파일은 그 중 가장 앞선 레코드의
+     * 시작 위치이고, 없으면 읽은 위치다. 이미 저장된 값과 같은 파일은 제외한다.
+     */
+    private Map<Path, Long> flushedOffsets(int flushed) {
+        Map<Path, Long> offsets = new HashMap<>(positions);
+        for (Pending pending : buffer.subList(flushed, buffer.size())) {
+            offsets.merge(pending.file(), pending.lineStart(), Math::min);
+        }
+        offsets.entrySet().removeIf(entry -> entry.getValue().equals(savedOffsets.get(entry.getKey())));
+        return offsets;
+    }
+
+    /**
+     * 레코드를 쓰지 않고 위치만 저장한다 (시작 위치, 건너뛴 레코드).
+     */
+    private void saveOffsets(Map<Path, Long> offsets) {
+        if (offsetStore == null || offsets.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> storeOffsets(offsets));
+        savedOffsets.putAll(offsets);
+    }
+
+    private void storeOffsets(Map<Path, Long> offsets) {
+        if (offsetStore == null || offsets.isEmpty()) {
+            return;
+        }
+        Map<String, Long> keyed = new HashMap<>();
+        offsets.forEach((file, offset) -> keyed.put(key(file), offset));
+        offsetStore.save(keyed);
+    }
+
+    private static String key(Path file) {
+        return file.toAbsolutePath().normalize().toString();
+    }
+
+    private void skip(String target, Exception e) {
+        skipCount++;
+        log.warn("Skipping {} ({}/{}): {}", target, skipCount, skipLimit, e.getMessage());
+        if (skipCount > skipLimit) {
+            log.error("Skip limit {} exceeded, stopping tailing {}", skipLimit, directory);
+            skipLimitExceeded = true;
+            running = false;
+        }
+    }
+
+    private void write(Chunk<RoamingStatusEntity> chunk) {
+        try {
+            writer.write(chunk);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to write records", e);
+        }
+    }
+
+    private void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            running = false;
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Pending(Path file, long lineStart, RoamingStatusEntity entity) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.roaming.job.tail;
+
+import java.util.Map;
+
+/**
+ * tail 모드가 파일별로 쓰기까지 끝낸 바이트 위치를 보관하는 곳. 키는 파일의 절대 경로다.
+ * 다시 시작하면 {@link RoamingFileTailer} 가 저장된 위치부터 읽는다.
+ */
+public interface TailOffsetStore {
+
+    Map<String, Long> load();
+
+    /**
+     * 주어진 파일들의 위치를 저장한다. 쓰기 트랜잭션 안에서 호출되므로 쓰기와 함께 커밋되거나 롤백된다.
+     */
+    void save(Map<String, Long> offsets);
+}
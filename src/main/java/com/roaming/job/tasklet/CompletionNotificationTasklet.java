@@ -1,5 +1,6 @@
 package com.roaming.job.tasklet;
 
+import com.roaming.job.listener.StageTimingListener;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
@@ -9,11 +10,14 @@ import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.StepExecution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.HdrHistogram.Histogram;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.stereotype.Component;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
 
 /**
  * Job 실행 완료 후 결과를 요약하고 알림을 발송하는 Tasklet
@@ -106,7 +110,31 @@ public class CompletionNotificationTasklet implements Tasklet {
             if (executionContext.containsKey("archivedFileCount")) {
                 log.info("    - 아카이브된 파일 수: {}", executionContext.getInt("archivedFileCount"));
             }
+            Map<StageTimingListener.Stage, Histogram> timings = StageTimingListener.load(executionContext);
+            if (!timings.isEmpty()) {
+                log.info("    - 단계별 처리 시간: {}", StageTimingListener.format(timings));
+            }
         });
+
+        logStageTimings(summary.getStepExecutions());
+    }
+
+    /**
+     * 모든 Step(파티션)의 단계별 히스토그램을 합쳐 Job 전체의 분위수를 출력한다. (batch.timing.enabled)
+     */
+    private void logStageTimings(Collection<StepExecution> stepExecutions) {
+        Map<StageTimingListener.Stage, Histogram> total = new EnumMap<>(StageTimingListener.Stage.class);
+        for (StepExecution stepExecution : stepExecutions) {
+            StageTimingListener.load(stepExecution.getExecutionContext()).forEach((stage, histogram) ->
+                    total.merge(stage, histogram, (merged, next) -> {
+                        merged.add(next);
+                        return merged;
+                    }));
+        }
+        if (!total.isEmpty()) {
+            log.info("⏱ 단계별 처리 시간 (전체)");
+            log.info("  {}", StageTimingListener.format(total));
+        }
     }
 
     private void sendNotificationIfNeeded(JobExecutionSummary summary) {
@@ -1,5 +1,6 @@
 package com.roaming.job.tasklet;
 
+import com.roaming.job.reader.Compression;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
@@ -8,22 +9,38 @@ import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 
 /**
- * 처리 완료된 파일들을 백업 디렉터리로 이동하는 Tasklet
+ * 처리 완료된 파일들을 백업 디렉터리로 이동하는 Tasklet.
+ * batch.archive.split-lines 가 설정되면 입력 디렉터리의 압축 파일을 그 라인 수 단위의 gzip 파일로 나누고
+ * 원본은 백업 디렉터리로 옮긴다. 압축 파일은 파일 단위로만 파티션되므로, 큰 압축 파일을 병렬로 처리할 때 사용한다.
  */
 @Slf4j
 @Component
 public class FileArchiveTasklet implements Tasklet {
 
+    private static final String PART_MARKER = ".part-";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     @Value("${batch.archive.source-directory:./src/main/resources/data}")
     private String sourceDirectory;
 
@@ -33,6 +50,12 @@ public class FileArchiveTasklet implements Tasklet {
     @Value("${batch.archive.file-pattern:*.csv}")
     private String filePattern;
 
+    @Value("${batch.archive.split-lines:0}")
+    private int splitLines;
+
+    @Value("${batch.input.location:}")
+    private String inputLocation;
+
     @Override
     public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
         log.info("파일 아카이브 작업을 시작합니다. source: {}, backup: {}", sourceDirectory, backupDirectory);
@@ -43,12 +66,17 @@ public class FileArchiveTasklet implements Tasklet {
             
             // 소스 디렉터리의 파일들을 백업 디렉터리로 복사
             int archivedCount = archiveFilesFromClasspath(backupPath);
+
+            // 입력 디렉터리의 압축 파일을 여러 파일로 분할
+            int splitCount = splitCompressedInputs(backupPath);
             
-            log.info("파일 아카이브 작업이 완료되었습니다. 처리된 파일 수: {}", archivedCount);
+            log.info("파일 아카이브 작업이 완료되었습니다. 처리된 파일 수: {}, 분할된 압축 파일 수: {}", archivedCount, splitCount);
             
             // Step 실행 컨텍스트에 결과 저장
             chunkContext.getStepContext().getStepExecution()
                     .getExecutionContext().putInt("archivedFileCount", archivedCount);
+            chunkContext.getStepContext().getStepExecution()
+                    .getExecutionContext().putInt("splitFileCount", splitCount);
             
             return RepeatStatus.FINISHED;
             
@@ -159,6 +187,106 @@ public class FileArchiveTasklet implements Tasklet {
         return archivedCount;
     }
 
+    private int splitCompressedInputs(Path backupPath) throws IOException {
+        if (splitLines <= 0 || !StringUtils.hasText(inputLocation)) {
+            return 0;
+        }
+
+        Path inputDir = Paths.get(inputLocation.trim());
+        if (!Files.isDirectory(inputDir)) {
+            log.warn("압축 파일 분할은 입력 경로가 디렉터리일 때만 지원합니다: {}", inputDir.toAbsolutePath());
+            return 0;
+        }
+
+        List<Path> files;
+        try (var stream = Files.list(inputDir)) {
+            files = stream
+                    .filter(Files::isRegularFile)
+                    .filter(file -> Compression.of(file.getFileName().toString()) != Compression.NONE)
+                    .filter(file -> !file.getFileName().toString().contains(PART_MARKER))
+                    .sorted()
+                    .toList();
+        }
+
+        int splitCount = 0;
+        for (Path file : files) {
+            List<Path> parts = splitCompressedFile(file);
+            // 분할 파일이 모두 만들어진 뒤에 원본을 옮겨야 중복 처리되지 않는다
+            Files.move(file, backupPath.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            log.info("압축 파일을 {}개 파일로 분할했습니다: {}", parts.size(), file.getFileName());
+            splitCount++;
+        }
+        return splitCount;
+    }
+
+    /**
+     * 압축 파일을 한 번 스트리밍으로 풀면서 splitLines 라인마다 헤더를 포함한 gzip 파일을 만든다.
+     * 예: roaming.csv.zst -> roaming.part-00000.csv.gz, roaming.part-00001.csv.gz ...
+     * 쓰는 동안에는 임시 이름을 사용해 입력 패턴에 걸리지 않게 하고, 모두 완료되면 이름을 바꾼다.
+     */
+    private List<Path> splitCompressedFile(Path file) throws IOException {
+        String fileName = file.getFileName().toString();
+        Compression compression = Compression.of(fileName);
+        String baseName = fileName.substring(0, fileName.lastIndexOf('.'));
+        String extension = "";
+        int extensionIndex = baseName.lastIndexOf('.');
+        if (extensionIndex > 0) {
+            extension = baseName.substring(extensionIndex);
+            baseName = baseName.substring(0, extensionIndex);
+        }
+
+        List<Path> tempParts = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                compression.decompress(Files.newInputStream(file)), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            String header = reader.readLine();
+            Writer writer = null;
+            int lineCount = 0;
+            try {
+                String line;
+                while (header != null && (line = reader.readLine()) != null) {
+                    if (writer == null || lineCount == splitLines) {
+                        if (writer != null) {
+                            writer.close();
+                        }
+                        Path tempPart = file.resolveSibling(String.format("%s%s%05d%s.gz.tmp",
+                                baseName, PART_MARKER, tempParts.size(), extension));
+                        tempParts.add(tempPart);
+                        writer = openGzipWriter(tempPart);
+                        writer.write(header);
+                        writer.write('\n');
+                        lineCount = 0;
+                    }
+                    writer.write(line);
+                    writer.write('\n');
+                    lineCount++;
+                }
+            } finally {
+                if (writer != null) {
+                    writer.close();
+                }
+            }
+        }
+
+        List<Path> parts = new ArrayList<>();
+        for (Path tempPart : tempParts) {
+            String partName = tempPart.getFileName().toString();
+            Path part = tempPart.resolveSibling(partName.substring(0, partName.length() - ".tmp".length()));
+            Files.move(tempPart, part, StandardCopyOption.REPLACE_EXISTING);
+            parts.add(part);
+        }
+        return parts;
+    }
+
+    private Writer openGzipWriter(Path path) throws IOException {
+        // 분할 파일은 곧바로 읽히므로 압축률보다 속도를 우선한다
+        GZIPOutputStream out = new GZIPOutputStream(Files.newOutputStream(path), BUFFER_SIZE) {
+            {
+                def.setLevel(Deflater.BEST_SPEED);
+            }
+        };
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
     private boolean matchesFilePattern(Path file) {
         String fileName = file.getFileName().toString();
         String pattern = filePattern.replace("*", ".*").replace("?", ".");
@@ -0,0 +1,174 @@
+package com.roaming.job.tasklet;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 월별로 파티션된 roaming_status 의 파티션을 관리하는 Tasklet.
+ * 이번 달부터 premake-months 개월 뒤까지의 파티션을 미리 만들고, 보존 기간(retention months)이 지난 파티션은
+ * DELETE 대신 파티션 테이블을 삭제한다.
+ *
+ * <p>새 파티션 범위의 row 가 이미 default 파티션에 있으면 새 파티션으로 옮긴 뒤 연결한다.
+ * 과거 데이터를 적재해 default 파티션에 쌓인 row 도 보존 기간이 지났으면 삭제하고, 남은 row 는 해당 월의 파티션을 만들어 옮긴다.
+ * fullSyncJob 은 적재 전에 실행하므로 이번 실행에서 default 파티션에 들어간 row 는 다음 실행 때 옮겨진다.
+ * PostgreSQL 이 아니거나 roaming_status 가 파티션 테이블이 아니면 아무 작업도 하지 않는다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PartitionMaintenanceTasklet implements Tasklet {
+
+    private static final String TABLE = "roaming_status";
+    private static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final Pattern PARTITION_NAME = Pattern.compile(TABLE + "_(\\d{6})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final DataSource dataSource;
+
+    // 0 이면 파티션을 삭제하지 않는다
+    @Value("${batch.retention.months:0}")
+    private int retentionMonths;
+
+    @Value("${batch.retention.premake-months:3}")
+    private int premakeMonths;
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        ExecutionContext executionContext = chunkContext.getStepContext().getStepExecution().getExecutionContext();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+        if (!isPartitioned(jdbcTemplate)) {
+            log.info("roaming_status 가 파티션 테이블이 아니므로 파티션 관리를 건너뜁니다.");
+            return RepeatStatus.FINISHED;
+        }
+
+        YearMonth currentMonth = YearMonth.now();
+        YearMonth cutoff = retentionMonths > 0 ? currentMonth.minusMonths(retentionMonths) : null;
+        int purged = cutoff != null ? deleteDefaultRowsBefore(jdbcTemplate, cutoff) : 0;
+
+        int created = 0;
+        for (YearMonth month : monthsInDefaultPartition(jdbcTemplate)) {
+            if (createPartition(jdbcTemplate, month)) {
+                created++;
+            }
+        }
+        for (int i = 0; i <= premakeMonths; i++) {
+            if (createPartition(jdbcTemplate, currentMonth.plusMonths(i))) {
+                created++;
+            }
+        }
+
+        int dropped = cutoff != null ? dropPartitionsBefore(jdbcTemplate, cutoff) : 0;
+
+        log.info("파티션 관리가 완료되었습니다. 생성: {}, 삭제: {}, default 파티션에서 삭제한 row 수: {}", created, dropped, purged);
+        executionContext.putInt("createdPartitionCount", created);
+        executionContext.putInt("droppedPartitionCount", dropped);
+        executionContext.putInt("purgedDefaultRowCount", purged);
+        return RepeatStatus.FINISHED;
+    }
+
+    private boolean isPartitioned(JdbcTemplate jdbcTemplate) throws MetaDataAccessException {
+        String product = JdbcUtils.commonDatabaseName(
+                JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+        if (!"PostgreSQL".equals(product)) {
+            return false;
+        }
+
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_partitioned_table p JOIN pg_class c ON c.oid = p.partrelid "
+                        + "WHERE c.relname = ? AND pg_table_is_visible(c.oid)",
+                Integer.class, TABLE);
+        return count != null && count > 0;
+    }
+
+    /**
+     * default 파티션에 row 가 있는 월 목록. default 파티션 전체를 읽으므로 월별 파티션이 있으면 작게 유지된다.
+     */
+    private List<YearMonth> monthsInDefaultPartition(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForList(
+                        "SELECT DISTINCT to_char(timestamp, 'YYYYMM') FROM " + DEFAULT_PARTITION + " ORDER BY 1",
+                        String.class)
+                .stream()
+                .map(suffix -> YearMonth.parse(suffix, SUFFIX))
+                .toList();
+    }
+
+    /**
+     * default 파티션에서 cutoff 월 이전의 row 를 삭제한다. 월별 파티션이 없는 과거 데이터는 DROP TABLE 로 지울 수 없다.
+     */
+    private int deleteDefaultRowsBefore(JdbcTemplate jdbcTemplate, YearMonth cutoff) {
+        int deleted = jdbcTemplate.update("DELETE FROM " + DEFAULT_PARTITION + " WHERE timestamp < ?",
+                cutoff.atDay(1).atStartOfDay());
+        if (deleted > 0) {
+            log.info("default 파티션에서 보존 기간({} 이전)이 지난 row {}건을 삭제했습니다.", cutoff, deleted);
+        }
+        return deleted;
+    }
+
+    /**
+     * month 파티션이 없으면 만든다. default 파티션에 있던 해당 월의 row 는 새 파티션으로 옮긴다.
+     */
+    private boolean createPartition(JdbcTemplate jdbcTemplate, YearMonth month) {
+        String partition = TABLE + "_" + month.format(SUFFIX);
+        if (Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition))) {
+            return false;
+        }
+
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+
+        jdbcTemplate.execute("CREATE TABLE " + partition
+                + " (LIKE " + TABLE + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                + " WHERE timestamp >= ? AND timestamp < ? RETURNING *) INSERT INTO " + partition + " SELECT * FROM moved",
+                from.atStartOfDay(), to.atStartOfDay());
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " ATTACH PARTITION " + partition
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+
+        log.info("파티션을 생성했습니다: {} [{}, {}), default 파티션에서 옮긴 row 수: {}", partition, from, to, moved);
+        return true;
+    }
+
+    /**
+     * cutoff 월 이전의 월별 파티션을 삭제한다.
+     */
+    private int dropPartitionsBefore(JdbcTemplate jdbcTemplate, YearMonth cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i "
+                        + "JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "JOIN pg_class p ON p.oid = i.inhparent "
+                        + "WHERE p.relname = ? AND pg_table_is_visible(p.oid) ORDER BY c.relname",
+                String.class, TABLE);
+
+        int dropped = 0;
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches() || !YearMonth.parse(matcher.group(1), SUFFIX).isBefore(cutoff)) {
+                continue;
+            }
+            jdbcTemplate.execute("DROP TABLE " + partition);
+            log.info("보존 기간이 지난 파티션을 삭제했습니다: {}", partition);
+            dropped++;
+        }
+        return dropped;
+    }
+}
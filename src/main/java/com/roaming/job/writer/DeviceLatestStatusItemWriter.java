@@ -0,0 +1,119 @@
+package com.roaming.job.writer;
+
+import com.roaming.domain.RoamingStatusEntity;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * chunk 의 상태 변경을 기기별 최신 상태 한 건으로 합쳐 device_latest_status 에 upsert 하는 Writer.
+ * 저장된 상태보다 timestamp 가 이른 변경은 upsert 의 WHERE 조건으로 무시되므로 파티션이 병렬로 실행되어도 최신 상태만 남는다.
+ *
+ * <p>커밋된 기기별 timestamp 를 메모리에 캐시해 이미 더 최신 상태가 저장된 기기의 변경은 DB 로 보내지 않는다.
+ * 캐시는 트랜잭션이 커밋된 뒤에만 갱신되므로 롤백된 chunk 의 값은 남지 않으며, 정합성은 WHERE 조건이 보장한다.
+ * 캐시는 cacheSize 개의 기기까지 최근에 사용한 순서로 유지한다.
+ *
+ * <p>병렬 파티션이 같은 기기들을 서로 다른 순서로 갱신하면 row lock 을 엇갈려 잡아 deadlock 이 날 수 있으므로,
+ * 항상 device_id 순서로 upsert 한다.
+ */
+public class DeviceLatestStatusItemWriter extends JdbcBatchItemWriter<RoamingStatusEntity> {
+
+    public static final String UPSERT_SQL =
+            "INSERT INTO device_latest_status (device_id, user_id, location, timestamp, status, updated_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)"
+                    + " ON CONFLICT (device_id) DO UPDATE SET"
+                    + " user_id = EXCLUDED.user_id,"
+                    + " location = EXCLUDED.location,"
+                    + " timestamp = EXCLUDED.timestamp,"
+                    + " status = EXCLUDED.status,"
+                    + " updated_at = EXCLUDED.updated_at"
+                    + " WHERE device_latest_status.timestamp <= EXCLUDED.timestamp";
+
+    private final Map<String, LocalDateTime> committed;
+
+    public DeviceLatestStatusItemWriter(int cacheSize) {
+        setSql(UPSERT_SQL);
+        setItemPreparedStatementSetter(DeviceLatestStatusItemWriter::setValues);
+        // 더 최신 상태가 이미 있으면 갱신되는 row 가 없다
+        setAssertUpdates(false);
+        this.committed = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LocalDateTime> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @Override
+    public void write(Chunk<? extends RoamingStatusEntity> chunk) throws Exception {
+        Map<String, RoamingStatusEntity> latest = collapse(chunk);
+        if (latest.isEmpty()) {
+            return;
+        }
+
+        super.write(new Chunk<>(new ArrayList<>(latest.values())));
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    remember(latest.values());
+                }
+            });
+        } else {
+            remember(latest.values());
+        }
+    }
+
+    /**
+     * 기기별로 timestamp 가 가장 늦은 변경만 남기고, 캐시된 커밋 상태보다 이른 변경은 제외한다.
+     * timestamp 가 같으면 나중에 들어온 변경을 쓴다. 결과는 device_id 순서로 정렬된다.
+     */
+    Map<String, RoamingStatusEntity> collapse(Chunk<? extends RoamingStatusEntity> chunk) {
+        Map<String, RoamingStatusEntity> latest = new TreeMap<>();
+        for (RoamingStatusEntity item : chunk) {
+            RoamingStatusEntity current = latest.get(item.getDeviceId());
+            if (current == null || !item.getTimestamp().isBefore(current.getTimestamp())) {
+                latest.put(item.getDeviceId(), item);
+            }
+        }
+
+        latest.values().removeIf(item -> {
+            LocalDateTime stored = committed.get(item.getDeviceId());
+            return stored != null && item.getTimestamp().isBefore(stored);
+        });
+        return latest;
+    }
+
+    void remember(Collection<RoamingStatusEntity> items) {
+        for (RoamingStatusEntity item : items) {
+            committed.merge(item.getDeviceId(), item.getTimestamp(),
+                    (stored, written) -> written.isAfter(stored) ? written : stored);
+        }
+    }
+
+    private static void setValues(RoamingStatusEntity item, PreparedStatement ps) throws SQLException {
+        ps.setString(1, item.getDeviceId());
+        ps.setLong(2, item.getUserId());
+        if (item.getLocation() != null) {
+            ps.setString(3, item.getLocation());
+        } else {
+            ps.setNull(3, Types.VARCHAR);
+        }
+        ps.setObject(4, item.getTimestamp());
+        ps.setString(5, item.getStatus().name());
+        ps.setObject(6, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,169 @@
+package com.roaming.job.writer;
+
+import com.roaming.domain.RoamingStatusEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
+import org.springframework.jdbc.support.SQLExceptionTranslator;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * PostgreSQL COPY ... FROM STDIN 으로 chunk 전체를 한 번에 적재하는 Writer.
+ * 엔티티를 CSV 로 직접 인코딩해 스트리밍하므로 row 단위 statement 가 없다.
+ *
+ * <p>item 이 하나인 chunk 는 COPY 를 열지 않고 항상 rowWriter 로 INSERT 한다. scan 단계인지는 구분하지 않으므로
+ * 마지막 chunk 나 chunkSize=1 처럼 원래 item 이 하나인 chunk 도 같은 경로로 쓰인다. 한 row 에서는 COPY 를 여는 비용이 INSERT 보다 크고,
+ * 두 경로는 같은 컬럼에 같은 값을 쓰며 제약 위반도 같은 DataAccessException(DuplicateKeyException 등)으로 변환되므로 결과는 같다.
+ *
+ * <p>COPY 가 실패하면 예외를 DataAccessException 으로 변환해 던지고, chunk 트랜잭션이 롤백된다.
+ * 이후 fault tolerant step 이 item 을 하나씩 다시 쓰는 scan 단계에서는 위의 row 단위 INSERT 로 문제 레코드를 격리하므로
+ * skip/retry 정책은 step 설정을 그대로 따른다.
+ */
+@Slf4j
+public class PostgresCopyItemWriter implements ItemWriter<RoamingStatusEntity>, InitializingBean {
+
+    public static final String COPY_SQL =
+            "COPY roaming_status (user_id, device_id, location, timestamp, status, created_at) "
+                    + "FROM STDIN WITH (FORMAT csv)";
+
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    private DataSource dataSource;
+    private ItemWriter<RoamingStatusEntity> rowWriter;
+    private SQLExceptionTranslator exceptionTranslator;
+
+    public void setDataSource(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public void setRowWriter(ItemWriter<RoamingStatusEntity> rowWriter) {
+        this.rowWriter = rowWriter;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(dataSource, "DataSource must be set");
+        Assert.notNull(rowWriter, "Row writer must be set");
+    }
+
+    @Override
+    public void write(Chunk<? extends RoamingStatusEntity> chunk) throws Exception {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        if (chunk.size() == 1) {
+            // scan 단계, 마지막 chunk, chunkSize=1 모두 같은 row 단위 INSERT 로 쓴다
+            rowWriter.write(chunk);
+            return;
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        CopyIn copyIn = null;
+        try {
+            copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+
+            LocalDateTime createdAt = LocalDateTime.now();
+            StringBuilder rows = new StringBuilder(FLUSH_THRESHOLD + 256);
+            for (RoamingStatusEntity item : chunk) {
+                appendRow(rows, item, createdAt);
+                if (rows.length() >= FLUSH_THRESHOLD) {
+                    flush(copyIn, rows);
+                }
+            }
+            flush(copyIn, rows);
+
+            long copied = copyIn.endCopy();
+            log.debug("Copied {} rows into roaming_status", copied);
+        } catch (SQLException e) {
+            cancelQuietly(copyIn);
+            throw translate(e);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * COPY CSV 형식으로 한 row 를 인코딩한다. null 은 따옴표 없는 빈 값, 빈 문자열은 "" 로 구분된다.
+     */
+    static void appendRow(StringBuilder out, RoamingStatusEntity item, LocalDateTime createdAt) {
+        out.append(item.getUserId()).append(',');
+        appendText(out, item.getDeviceId());
+        out.append(',');
+        appendText(out, item.getLocation());
+        out.append(',');
+        out.append(item.getTimestamp()).append(',');
+        out.append(item.getStatus().name()).append(',');
+        out.append(item.getCreatedAt() != null ? item.getCreatedAt() : createdAt);
+        out.append('\n');
+    }
+
+    private static void appendText(StringBuilder out, String value) {
+        if (value == null) {
+            return;
+        }
+        if (!value.isEmpty() && !needsQuoting(value)) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.append('"');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r' || c == '\\') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void flush(CopyIn copyIn, StringBuilder rows) throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        byte[] bytes = rows.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        rows.setLength(0);
+    }
+
+    private void cancelQuietly(CopyIn copyIn) {
+        if (copyIn == null || !copyIn.isActive()) {
+            return;
+        }
+        try {
+            copyIn.cancelCopy();
+        } catch (SQLException e) {
+            log.debug("Failed to cancel COPY: {}", e.getMessage());
+        }
+    }
+
+    private DataAccessException translate(SQLException e) {
+        if (exceptionTranslator == null) {
+            exceptionTranslator = new SQLErrorCodeSQLExceptionTranslator(dataSource);
+        }
+        DataAccessException translated = exceptionTranslator.translate("COPY roaming_status", COPY_SQL, e);
+        return translated != null ? translated : new UncategorizedSQLException("COPY roaming_status", COPY_SQL, e);
+    }
+}
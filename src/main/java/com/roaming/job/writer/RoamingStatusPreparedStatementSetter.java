@@ -0,0 +1,35 @@
+package com.roaming.job.writer;
+
+import com.roaming.domain.RoamingStatusEntity;
+import org.springframework.batch.item.database.ItemPreparedStatementSetter;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDateTime;
+
+/**
+ * roaming_status INSERT 문의 파라미터를 인덱스로 직접 바인딩한다.
+ * 파라미터 순서: user_id, device_id, location, timestamp, status, created_at
+ */
+public class RoamingStatusPreparedStatementSetter implements ItemPreparedStatementSetter<RoamingStatusEntity> {
+
+    public static final String INSERT_SQL =
+            "INSERT INTO roaming_status (user_id, device_id, location, timestamp, status, created_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Override
+    public void setValues(RoamingStatusEntity item, PreparedStatement ps) throws SQLException {
+        ps.setLong(1, item.getUserId());
+        ps.setString(2, item.getDeviceId());
+        if (item.getLocation() != null) {
+            ps.setString(3, item.getLocation());
+        } else {
+            ps.setNull(3, Types.VARCHAR);
+        }
+        ps.setObject(4, item.getTimestamp());
+        ps.setString(5, item.getStatus().name());
+        // JPA 경로의 @PrePersist 와 동일하게 저장 시각을 기록한다
+        ps.setObject(6, item.getCreatedAt() != null ? item.getCreatedAt() : LocalDateTime.now());
+    }
+}
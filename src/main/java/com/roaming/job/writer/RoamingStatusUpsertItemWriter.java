@@ -0,0 +1,47 @@
+package com.roaming.job.writer;
+
+import com.roaming.domain.RoamingStatusEntity;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * (device_id, timestamp) 기준으로 roaming_status 에 upsert 하는 batch Writer.
+ * 같은 입력으로 Job 을 다시 실행하거나 실패한 파티션을 재시작해도 중복 row 가 생기지 않는다.
+ *
+ * <p>reWriteBatchedInserts 로 batch 가 multi-row INSERT 로 합쳐지면, 한 문장 안에 같은 키가 두 번 있을 때
+ * ON CONFLICT DO UPDATE 가 실패한다. 그래서 chunk 안의 중복 키는 마지막 값만 남기고 전송한다.
+ */
+public class RoamingStatusUpsertItemWriter extends JdbcBatchItemWriter<RoamingStatusEntity> {
+
+    public static final String UPSERT_SQL = RoamingStatusPreparedStatementSetter.INSERT_SQL
+            + " ON CONFLICT (device_id, timestamp) DO UPDATE SET"
+            + " user_id = EXCLUDED.user_id,"
+            + " location = EXCLUDED.location,"
+            + " status = EXCLUDED.status";
+
+    public RoamingStatusUpsertItemWriter() {
+        setSql(UPSERT_SQL);
+        setItemPreparedStatementSetter(new RoamingStatusPreparedStatementSetter());
+    }
+
+    @Override
+    public void write(Chunk<? extends RoamingStatusEntity> chunk) throws Exception {
+        Map<DeviceTimestamp, RoamingStatusEntity> latest = new LinkedHashMap<>(chunk.size() * 2);
+        for (RoamingStatusEntity item : chunk) {
+            latest.put(new DeviceTimestamp(item.getDeviceId(), item.getTimestamp()), item);
+        }
+
+        if (latest.size() == chunk.size()) {
+            super.write(chunk);
+            return;
+        }
+        super.write(new Chunk<>(latest.values().stream().toList()));
+    }
+
+    private record DeviceTimestamp(String deviceId, LocalDateTime timestamp) {
+    }
+}
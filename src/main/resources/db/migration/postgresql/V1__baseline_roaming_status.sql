@@ -0,0 +1,11 @@
+-- 기존 ddl-auto: update 로 생성되던 roaming_status 스키마를 기준 버전으로 고정한다.
+-- 이미 테이블이 있는 환경에서는 아무 작업도 하지 않는다.
+CREATE TABLE IF NOT EXISTS roaming_status (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    BIGINT       NOT NULL,
+    device_id  VARCHAR(50)  NOT NULL,
+    location   VARCHAR(100),
+    timestamp  TIMESTAMP(6) NOT NULL,
+    status     VARCHAR(255) NOT NULL CHECK (status IN ('CONNECTED', 'DISCONNECTED', 'ROAMING')),
+    created_at TIMESTAMP(6)
+);
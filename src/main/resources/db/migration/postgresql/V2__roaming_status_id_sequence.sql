@@ -0,0 +1,14 @@
+-- IDENTITY 컬럼을 pooled optimizer 용 시퀀스로 전환한다.
+-- 시퀀스 증가폭이 Hibernate 의 allocation size 가 된다 (spring.flyway.placeholders.id_allocation_size).
+CREATE SEQUENCE IF NOT EXISTS roaming_status_seq INCREMENT BY ${id_allocation_size};
+
+ALTER TABLE roaming_status ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+-- pooled optimizer 는 nextval 로 받은 값 v 에 대해 (v - 증가폭, v] 구간을 할당한다.
+-- 첫 nextval 이 max(id) + 증가폭 이 되도록 맞춰 기존 id 와 겹치지 않게 한다.
+SELECT setval('roaming_status_seq', COALESCE(MAX(id), 0) + ${id_allocation_size}, false) FROM roaming_status;
+
+-- JDBC/COPY Writer 처럼 id 를 지정하지 않는 INSERT 도 같은 시퀀스를 사용한다.
+-- nextval 값 v 는 어떤 pooled 구간과도 겹치지 않는다.
+ALTER TABLE roaming_status ALTER COLUMN id SET DEFAULT nextval('roaming_status_seq');
+ALTER SEQUENCE roaming_status_seq OWNED BY roaming_status.id;
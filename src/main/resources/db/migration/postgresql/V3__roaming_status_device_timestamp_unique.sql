@@ -0,0 +1,10 @@
+-- upsert (ON CONFLICT (device_id, timestamp)) 를 위한 유니크 인덱스.
+-- 재실행으로 이미 쌓인 중복 row 는 가장 나중에 저장된 row 만 남긴다.
+DELETE FROM roaming_status older
+ USING roaming_status newer
+ WHERE older.device_id = newer.device_id
+   AND older.timestamp = newer.timestamp
+   AND older.id < newer.id;
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_roaming_status_device_timestamp
+    ON roaming_status (device_id, timestamp);
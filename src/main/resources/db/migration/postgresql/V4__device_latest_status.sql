@@ -0,0 +1,19 @@
+-- 기기별 최신 로밍 상태. Sync Job 이 roaming_status 와 같은 chunk 트랜잭션에서 갱신한다.
+CREATE TABLE IF NOT EXISTS device_latest_status (
+    device_id  VARCHAR(50)  PRIMARY KEY,
+    user_id    BIGINT       NOT NULL,
+    location   VARCHAR(100),
+    timestamp  TIMESTAMP(6) NOT NULL,
+    status     VARCHAR(255) NOT NULL CHECK (status IN ('CONNECTED', 'DISCONNECTED', 'ROAMING')),
+    updated_at TIMESTAMP(6)
+);
+
+CREATE INDEX IF NOT EXISTS ix_device_latest_status_user_id
+    ON device_latest_status (user_id);
+
+-- 이미 쌓인 이력에서 기기별 가장 최근 row 로 초기 상태를 채운다.
+INSERT INTO device_latest_status (device_id, user_id, location, timestamp, status, updated_at)
+SELECT DISTINCT ON (device_id) device_id, user_id, location, timestamp, status, now()
+  FROM roaming_status
+ ORDER BY device_id, timestamp DESC, id DESC
+ON CONFLICT (device_id) DO NOTHING;
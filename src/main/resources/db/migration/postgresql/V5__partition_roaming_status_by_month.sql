@@ -0,0 +1,57 @@
+-- roaming_status 를 timestamp 기준 월별 range partition 테이블로 전환한다.
+-- 파티션 이름은 roaming_status_YYYYMM 이고, 범위 밖의 row 는 roaming_status_default 에 저장된다.
+-- 이후 파티션 생성과 보존 기간이 지난 파티션 삭제는 PartitionMaintenanceTasklet 이 담당한다.
+
+-- 기존 테이블을 옮겨 두고, 시퀀스가 함께 삭제되지 않도록 소유 관계를 해제한다.
+ALTER TABLE roaming_status RENAME TO roaming_status_legacy;
+ALTER INDEX ux_roaming_status_device_timestamp RENAME TO ux_roaming_status_legacy_device_timestamp;
+ALTER SEQUENCE roaming_status_seq OWNED BY NONE;
+
+-- 파티션 테이블의 PK 와 유니크 인덱스는 파티션 키(timestamp)를 포함해야 한다.
+CREATE TABLE roaming_status (
+    id         BIGINT       NOT NULL DEFAULT nextval('roaming_status_seq'),
+    user_id    BIGINT       NOT NULL,
+    device_id  VARCHAR(50)  NOT NULL,
+    location   VARCHAR(100),
+    timestamp  TIMESTAMP(6) NOT NULL,
+    status     VARCHAR(255) NOT NULL CHECK (status IN ('CONNECTED', 'DISCONNECTED', 'ROAMING')),
+    created_at TIMESTAMP(6),
+    PRIMARY KEY (id, timestamp)
+) PARTITION BY RANGE (timestamp);
+
+CREATE UNIQUE INDEX ux_roaming_status_device_timestamp
+    ON roaming_status (device_id, timestamp);
+
+-- 사용자별 기간 조회용
+CREATE INDEX ix_roaming_status_user_id_timestamp
+    ON roaming_status (user_id, timestamp);
+
+CREATE TABLE roaming_status_default PARTITION OF roaming_status DEFAULT;
+
+-- 기존 데이터가 있는 달부터 이번 달 + 3개월까지 파티션을 만든다.
+DO $$
+DECLARE
+    month_start DATE;
+    last_month  DATE;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(timestamp), now()))::date,
+           GREATEST(date_trunc('month', COALESCE(MAX(timestamp), now())),
+                    date_trunc('month', now()) + INTERVAL '3 months')::date
+      INTO month_start, last_month
+      FROM roaming_status_legacy;
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF roaming_status FOR VALUES FROM (%L) TO (%L)',
+                       'roaming_status_' || to_char(month_start, 'YYYYMM'),
+                       month_start, (month_start + INTERVAL '1 month')::date);
+        month_start := (month_start + INTERVAL '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO roaming_status (id, user_id, device_id, location, timestamp, status, created_at)
+SELECT id, user_id, device_id, location, timestamp, status, created_at
+  FROM roaming_status_legacy;
+
+DROP TABLE roaming_status_legacy;
+
+ALTER SEQUENCE roaming_status_seq OWNED BY roaming_status.id;
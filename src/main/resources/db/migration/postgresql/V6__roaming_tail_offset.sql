@@ -0,0 +1,6 @@
+-- tail 모드가 파일별로 쓰기까지 끝낸 바이트 위치. micro-batch 와 같은 트랜잭션에서 갱신한다.
+CREATE TABLE IF NOT EXISTS roaming_tail_offset (
+    file_path   VARCHAR(1024) PRIMARY KEY,
+    byte_offset BIGINT        NOT NULL,
+    updated_at  TIMESTAMP(6)
+);
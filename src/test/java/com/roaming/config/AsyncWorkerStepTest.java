@@ -0,0 +1,109 @@
+package com.roaming.config;
+
+import com.roaming.domain.RoamingStatusEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.item.database.JpaItemWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * batch.processor.mode=async 의 workerStep 이 동기 모드와 같이 skip 과 재시도를 처리하는지 확인한다.
+ */
+@SpringBootTest(properties = {
+    "spring.batch.job.enabled=false",
+    "spring.datasource.url=jdbc:h2:mem:asyncworkerdb;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false",
+    "batch.processor.mode=async",
+    "batch.partition.mode=byte"
+})
+class AsyncWorkerStepTest {
+
+    private static final String INPUT = """
+            userId,deviceId,location,timestamp,status
+            1001,DEV001,Seoul,2024-01-15T10:30:00,CONNECTED
+            1002,DEV002,Busan,2024-01-15T10:35:00,ROAMING
+            1004,DEV004,Daegu,2024-01-15T10:40:00,CONNECTED
+            1003,DEV003,Incheon,2024-01-15T10:45:00,DISCONNECTED
+            1005,DEV005,Daejeon,2024-01-15T10:50:00,CONNECTED
+            """;
+
+    @Autowired
+    @Qualifier("workerStep")
+    private Step workerStep;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private JpaItemWriter<RoamingStatusEntity> jpaItemWriter;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("비동기 모드에서도 DEV003 은 skip 하고 일시적인 쓰기 오류는 재시도해 나머지를 모두 저장해야 한다")
+    void should_SkipInvalidAndRetryTransient_when_ProcessorIsAsync() throws Exception {
+        // Given
+        Path input = tempDir.resolve("roaming.csv");
+        Files.writeString(input, INPUT, StandardCharsets.UTF_8);
+
+        // 첫 chunk(DEV001, DEV002)의 첫 쓰기만 실패시킨다
+        AtomicInteger writes = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (writes.incrementAndGet() == 1) {
+                throw new TransientDataAccessResourceException("Simulated transient failure");
+            }
+            return invocation.callRealMethod();
+        }).when(jpaItemWriter).write(any());
+
+        JobExecution jobExecution = jobRepository.createJobExecution("asyncWorkerStepTest",
+                new JobParametersBuilder().addLong("chunkSize", 2L).toJobParameters());
+        StepExecution stepExecution = jobExecution.createStepExecution("workerStep");
+        stepExecution.getExecutionContext().putString("inputFile", input.toString());
+        jobRepository.add(stepExecution);
+
+        // When
+        workerStep.execute(stepExecution);
+
+        // Then
+        assertThat(stepExecution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(jdbcTemplate.queryForList("SELECT device_id FROM roaming_status ORDER BY device_id", String.class))
+                .containsExactly("DEV001", "DEV002", "DEV004", "DEV005");
+        assertThat(stepExecution.getReadCount()).isEqualTo(5);
+        assertThat(stepExecution.getWriteCount()).isEqualTo(4);
+        // 비동기 모드에서는 DEV003 이 쓰기 단계에서 드러나므로 write skip 으로 집계된다
+        assertThat(stepExecution.getSkipCount()).isEqualTo(1);
+        assertThat(stepExecution.getWriteSkipCount()).isEqualTo(1);
+        assertThat(stepExecution.getProcessSkipCount()).isZero();
+        // 재시도 1회 + skip 을 위한 item 단위 scan 1회
+        assertThat(stepExecution.getRollbackCount()).isGreaterThanOrEqualTo(2);
+        assertThat(writes.get()).isGreaterThan(1);
+    }
+}
@@ -1,10 +1,14 @@
 package com.roaming.config;
 
+import com.roaming.job.writer.RoamingStatusUpsertItemWriter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.integration.async.AsyncItemProcessor;
+import org.springframework.batch.integration.async.AsyncItemWriter;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
 import org.springframework.batch.item.database.JpaItemWriter;
 import org.springframework.batch.item.file.FlatFileItemReader;
 import org.springframework.batch.test.context.SpringBatchTest;
@@ -40,6 +44,17 @@ class BatchConfigTest {
         assertThat(chunkSyncJob.getName()).isEqualTo("chunkSyncJob");
     }
 
+    @Test
+    @DisplayName("partitionMaintenanceJob 빈이 정상적으로 생성되어야 한다")
+    void should_CreatePartitionMaintenanceJob_when_SpringContextLoaded() {
+        // When
+        Job partitionMaintenanceJob = batchConfig.partitionMaintenanceJob();
+
+        // Then
+        assertThat(partitionMaintenanceJob).isNotNull();
+        assertThat(partitionMaintenanceJob.getName()).isEqualTo("partitionMaintenanceJob");
+    }
+
     @Test
     @DisplayName("robustSyncJob 빈이 정상적으로 생성되어야 한다")
     void should_CreateRobustSyncJob_when_SpringContextLoaded() {
@@ -94,6 +109,38 @@ class BatchConfigTest {
         assertThat(writer).isNotNull();
     }
 
+    @Test
+    @DisplayName("jdbcBatchItemWriter 빈이 정상적으로 생성되어야 한다")
+    void should_CreateJdbcBatchItemWriter_when_SpringContextLoaded() {
+        // When
+        JdbcBatchItemWriter<?> writer = batchConfig.jdbcBatchItemWriter();
+
+        // Then
+        assertThat(writer).isNotNull();
+    }
+
+    @Test
+    @DisplayName("upsertItemWriter 빈이 정상적으로 생성되어야 한다")
+    void should_CreateUpsertItemWriter_when_SpringContextLoaded() {
+        // When
+        RoamingStatusUpsertItemWriter writer = batchConfig.upsertItemWriter();
+
+        // Then
+        assertThat(writer).isNotNull();
+    }
+
+    @Test
+    @DisplayName("비동기 처리용 AsyncItemProcessor 와 AsyncItemWriter 빈이 정상적으로 생성되어야 한다")
+    void should_CreateAsyncProcessorAndWriter_when_SpringContextLoaded() {
+        // When
+        AsyncItemProcessor<?, ?> processor = batchConfig.asyncRoamingDataProcessor();
+        AsyncItemWriter<?> writer = batchConfig.asyncRoamingStatusItemWriter();
+
+        // Then
+        assertThat(processor).isNotNull();
+        assertThat(writer).isNotNull();
+    }
+
     @Test
     @DisplayName("partitioningSyncJob 빈이 정상적으로 생성되어야 한다")
     void should_CreatePartitioningSyncJob_when_SpringContextLoaded() {
@@ -0,0 +1,113 @@
+package com.roaming.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.batch.JobLauncherApplicationRunner;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 문서의 실행 방식(같은 인자로 반복 실행)대로 증분 동기화를 두 번 실행해 두 번째 실행이 추가된 라인만 처리하는지 확인한다.
+ */
+@SpringBootTest(properties = {
+    "spring.batch.job.enabled=false",
+    "spring.datasource.url=jdbc:h2:mem:incrementaldb;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false",
+    "batch.incremental.enabled=true"
+})
+class IncrementalSyncJobTest {
+
+    private static final String HEADER = "userId,deviceId,location,timestamp,status\n";
+    private static final String LINE1 = "1001,DEV001,Seoul,2024-01-15T10:30:00,CONNECTED\n";
+    private static final String LINE2 = "1002,DEV002,Busan,2024-01-15T10:35:00,ROAMING\n";
+    private static final String LINE4 = "1004,DEV004,Daegu,2024-01-15T10:40:00,CONNECTED\n";
+    private static final String LINE5 = "1005,DEV005,Daejeon,2024-01-15T10:45:00,DISCONNECTED\n";
+
+    private static final Path INPUT_DIR = createInputDir();
+
+    @Autowired
+    private JobLauncher jobLauncher;
+
+    @Autowired
+    private JobExplorer jobExplorer;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    @Qualifier("chunkSyncJob")
+    private Job chunkSyncJob;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void inputProperties(DynamicPropertyRegistry registry) {
+        registry.add("batch.input.location", INPUT_DIR::toString);
+    }
+
+    @Test
+    @DisplayName("같은 인자로 다시 실행하면 새 JobInstance 로 실행되어 추가된 라인만 처리해야 한다")
+    void should_ProcessOnlyAppendedLines_when_JobLaunchedTwiceWithSameArguments() throws Exception {
+        // Given
+        Path file = INPUT_DIR.resolve("roaming.csv");
+        Files.writeString(file, HEADER + LINE1 + LINE2, StandardCharsets.UTF_8);
+        launch();
+        Files.writeString(file, LINE4 + LINE5, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        // When
+        launch();
+
+        // Then
+        List<JobInstance> instances = jobExplorer.getJobInstances("chunkSyncJob", 0, 10);
+        assertThat(instances).hasSize(2);
+        JobExecution second = jobExplorer.getJobExecutions(instances.get(0)).get(0);
+        assertThat(second.getExitStatus().getExitCode()).isEqualTo("COMPLETED");
+        assertThat(second.getStepExecutions()).extracting(StepExecution::getWriteCount).containsExactly(2L);
+        assertThat(jdbcTemplate.queryForList("SELECT device_id FROM roaming_status ORDER BY device_id", String.class))
+                .containsExactly("DEV001", "DEV002", "DEV004", "DEV005");
+    }
+
+    /**
+     * spring.batch.job.name 으로 실행할 때와 같은 방식(JobLauncherApplicationRunner)으로 인자 없이 실행한다.
+     */
+    private void launch() throws Exception {
+        JobLauncherApplicationRunner runner = new JobLauncherApplicationRunner(jobLauncher, jobExplorer, jobRepository);
+        runner.setJobs(List.of(chunkSyncJob));
+        runner.setJobName("chunkSyncJob");
+        runner.afterPropertiesSet();
+        runner.run();
+    }
+
+    private static Path createInputDir() {
+        try {
+            return Files.createTempDirectory("roaming-incremental");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
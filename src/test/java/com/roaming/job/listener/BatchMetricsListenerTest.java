@@ -0,0 +1,71 @@
+package com.roaming.job.listener;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchMetricsListenerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final BatchMetricsListener listener = new BatchMetricsListener(meterRegistry);
+
+    @Test
+    @DisplayName("chunk 가 끝날 때마다 늘어난 건수만 파티션 번호를 뺀 step 태그로 더해야 한다")
+    void should_AddCountDeltasPerChunk_when_ChunksCommit() {
+        // Given
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution("workerStep:partition0", 1L);
+        ChunkContext chunkContext = new ChunkContext(new StepContext(stepExecution));
+        listener.beforeStep(stepExecution);
+
+        // When
+        listener.beforeChunk(chunkContext);
+        stepExecution.setReadCount(10);
+        stepExecution.setWriteCount(9);
+        stepExecution.setFilterCount(1);
+        listener.afterChunk(chunkContext);
+
+        listener.beforeChunk(chunkContext);
+        stepExecution.setReadCount(20);
+        stepExecution.setWriteCount(18);
+        stepExecution.setProcessSkipCount(1);
+        listener.afterChunk(chunkContext);
+
+        // Then
+        assertThat(count("roaming.batch.items", "read")).isEqualTo(20);
+        assertThat(count("roaming.batch.items", "process")).isEqualTo(20);
+        assertThat(count("roaming.batch.items", "write")).isEqualTo(18);
+        assertThat(count("roaming.batch.skips", "process")).isEqualTo(1);
+        assertThat(meterRegistry.get("roaming.batch.chunk").tag("outcome", "success").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("roaming.batch.partition.items.current")
+                .tag("partition", "workerStep:partition0").tag("stage", "write").gauge().value()).isEqualTo(18);
+    }
+
+    @Test
+    @DisplayName("Step 이 끝나면 파티션 gauge 를 지우고 처리 건수 분포에 기록해야 한다")
+    void should_RemoveGaugesAndRecordSummary_when_StepEnds() {
+        // Given
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution("workerStep:partition1", 2L);
+        listener.beforeStep(stepExecution);
+        stepExecution.setReadCount(5);
+        stepExecution.setWriteCount(5);
+
+        // When
+        listener.afterStep(stepExecution);
+
+        // Then
+        assertThat(meterRegistry.find("roaming.batch.partition.items.current").gauges()).isEmpty();
+        assertThat(meterRegistry.get("roaming.batch.partition.items").tag("step", "workerStep").summary().totalAmount())
+                .isEqualTo(5);
+        assertThat(count("roaming.batch.items", "read")).isEqualTo(5);
+    }
+
+    private double count(String name, String stage) {
+        return meterRegistry.get(name).tag("step", "workerStep").tag("stage", stage).counter().count();
+    }
+}
@@ -0,0 +1,65 @@
+package com.roaming.job.listener;
+
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StageTimingListenerTest {
+
+    private final StageTimingListener listener = new StageTimingListener();
+
+    @Test
+    @DisplayName("Step 이 끝나면 단계별 히스토그램을 ExecutionContext 에 저장하고 다시 읽을 수 있어야 한다")
+    void should_StoreStageHistograms_when_StepEnds() {
+        // Given
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution("workerStep:partition0", 1L);
+        ChunkContext chunkContext = new ChunkContext(new StepContext(stepExecution));
+        listener.beforeStep(stepExecution);
+
+        // When
+        listener.beforeChunk(chunkContext);
+        for (int i = 0; i < 3; i++) {
+            listener.beforeRead();
+            listener.afterRead("line");
+            listener.beforeProcess("line");
+            listener.afterProcess("line", "entity");
+        }
+        listener.beforeRead();
+        listener.beforeWrite(Chunk.of("entity", "entity", "entity"));
+        listener.afterWrite(Chunk.of("entity", "entity", "entity"));
+        listener.afterChunk(chunkContext);
+        listener.afterStep(stepExecution);
+
+        // Then
+        Map<StageTimingListener.Stage, Histogram> timings = StageTimingListener.load(stepExecution.getExecutionContext());
+        assertThat(timings.get(StageTimingListener.Stage.READ).getTotalCount()).isEqualTo(3);
+        assertThat(timings.get(StageTimingListener.Stage.PROCESS).getTotalCount()).isEqualTo(3);
+        assertThat(timings.get(StageTimingListener.Stage.WRITE).getTotalCount()).isEqualTo(1);
+        assertThat(timings.get(StageTimingListener.Stage.CHUNK).getTotalCount()).isEqualTo(1);
+        assertThat(StageTimingListener.format(timings)).contains("read[n=3", "write[n=1");
+    }
+
+    @Test
+    @DisplayName("beforeStep 이 호출되지 않은 스레드에서는 아무것도 기록하지 않아야 한다")
+    void should_RecordNothing_when_StepNotStarted() {
+        // Given
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+
+        // When
+        listener.beforeRead();
+        listener.afterRead("line");
+        listener.afterStep(stepExecution);
+
+        // Then
+        assertThat(StageTimingListener.load(stepExecution.getExecutionContext())).isEmpty();
+    }
+}
@@ -0,0 +1,104 @@
+package com.roaming.job.partitioner;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ByteRangePartitionerTest {
+
+    private static final String HEADER = "userId,deviceId,location,timestamp,status\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("파티션 경계는 항상 라인의 시작 위치여야 하고 데이터 영역 전체를 빈틈없이 덮어야 한다")
+    void should_CreateNewlineAlignedPartitions_when_ValidCsvFile() throws IOException {
+        // Given
+        String csvContent = HEADER +
+                           "1001,DEV001,Seoul,2024-01-15T10:30:00,CONNECTED\n" +
+                           "1002,DEV002,Busan,2024-01-15T10:35:00,CONNECTED\n" +
+                           "1003,DEV003,Incheon,2024-01-15T10:40:00,DISCONNECTED\n" +
+                           "1004,DEV004,Daegu,2024-01-15T10:45:00,CONNECTED\n" +
+                           "1005,DEV005,Gwangju,2024-01-15T10:50:00,ROAMING\n";
+        byte[] bytes = csvContent.getBytes(StandardCharsets.UTF_8);
+        Path file = writeFile(csvContent);
+        ByteRangePartitioner partitioner = new ByteRangePartitioner(new FileSystemResource(file), 2);
+
+        // When
+        Map<String, ExecutionContext> partitions = partitioner.partition(2);
+
+        // Then
+        assertThat(partitions).hasSize(2);
+
+        ExecutionContext partition0 = partitions.get("partition0");
+        ExecutionContext partition1 = partitions.get("partition1");
+        assertThat(partition0.getLong("startOffset")).isEqualTo(HEADER.length());
+        assertThat(partition0.getLong("endOffset")).isEqualTo(partition1.getLong("startOffset"));
+        assertThat(partition1.getLong("endOffset")).isEqualTo(bytes.length);
+        assertThat(bytes[(int) partition1.getLong("startOffset") - 1]).isEqualTo((byte) '\n');
+        assertThat(partition1.getString("partitionNumber")).isEqualTo("1");
+    }
+
+    @Test
+    @DisplayName("데이터 라인보다 그리드 크기가 크면 빈 구간은 파티션으로 만들지 않아야 한다")
+    void should_SkipEmptyRanges_when_GridSizeExceedsDataLines() throws IOException {
+        // Given
+        Path file = writeFile(HEADER + "1001,DEV001,Seoul,2024-01-15T10:30:00,CONNECTED");
+        ByteRangePartitioner partitioner = new ByteRangePartitioner(new FileSystemResource(file), 4);
+
+        // When
+        Map<String, ExecutionContext> partitions = partitioner.partition(4);
+
+        // Then
+        assertThat(partitions).hasSize(1);
+        ExecutionContext partition = partitions.values().iterator().next();
+        assertThat(partition.getLong("startOffset")).isEqualTo(HEADER.length());
+        assertThat(partition.getLong("endOffset")).isEqualTo(Files.size(file));
+    }
+
+    @Test
+    @DisplayName("헤더만 있는 파일에 대해 빈 파티션 맵을 반환해야 한다")
+    void should_ReturnEmptyPartitions_when_OnlyHeaderFile() throws IOException {
+        // Given
+        Path file = writeFile(HEADER);
+        ByteRangePartitioner partitioner = new ByteRangePartitioner(new FileSystemResource(file), 2);
+
+        // When
+        Map<String, ExecutionContext> partitions = partitioner.partition(2);
+
+        // Then
+        assertThat(partitions).isEmpty();
+    }
+
+    @Test
+    @DisplayName("파일이 존재하지 않으면 RuntimeException을 던져야 한다")
+    void should_ThrowRuntimeException_when_FileMissing() {
+        // Given
+        ByteRangePartitioner partitioner =
+                new ByteRangePartitioner(new FileSystemResource(tempDir.resolve("missing.csv")), 2);
+
+        // When & Then
+        assertThatThrownBy(() -> partitioner.partition(2))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Failed to partition file")
+                .hasCauseInstanceOf(IOException.class);
+    }
+
+    private Path writeFile(String content) throws IOException {
+        Path file = tempDir.resolve("roaming.csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
@@ -0,0 +1,71 @@
+package com.roaming.job.partitioner;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LineCounterTest {
+
+    private static final String LINE = "1001,DEV001,Seoul,2024-01-15T10:30:00,CONNECTED";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("메모리 매핑 카운터와 스트리밍 카운터는 같은 라인 수를 반환해야 한다")
+    void should_ReturnSameCount_when_MappedAndStreamingCountersCompared() throws IOException {
+        // Given
+        StringBuilder content = new StringBuilder("userId,deviceId,location,timestamp,status\n");
+        for (int i = 0; i < 50_000; i++) {
+            content.append(LINE).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        Path file = writeFile(content.toString());
+
+        // When
+        long mapped = LineCounter.countLines(file);
+        long streamed = LineCounter.countLines(new ByteArrayInputStream(Files.readAllBytes(file)));
+
+        // Then
+        assertThat(mapped).isEqualTo(50_001);
+        assertThat(streamed).isEqualTo(mapped);
+    }
+
+    @Test
+    @DisplayName("마지막 라인에 개행이 없어도 한 라인으로 세어야 한다")
+    void should_CountLastLine_when_NoTrailingNewline() throws IOException {
+        // Given
+        Path file = writeFile("header\n" + LINE + "\n" + LINE);
+
+        // When
+        long count = LineCounter.countLines(new FileSystemResource(file));
+
+        // Then
+        assertThat(count).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("빈 파일은 0 라인이어야 한다")
+    void should_ReturnZero_when_EmptyFile() throws IOException {
+        // Given
+        Path file = writeFile("");
+
+        // When & Then
+        assertThat(LineCounter.countLines(file)).isZero();
+        assertThat(LineCounter.countLines(new ByteArrayInputStream(new byte[0]))).isZero();
+    }
+
+    private Path writeFile(String content) throws IOException {
+        Path file = tempDir.resolve("roaming.csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
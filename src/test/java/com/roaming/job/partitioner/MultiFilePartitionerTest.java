@@ -0,0 +1,132 @@
+package com.roaming.job.partitioner;
+
+import com.roaming.job.reader.HighWaterMarks;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MultiFilePartitionerTest {
+
+    private static final String HEADER = "userId,deviceId,location,timestamp,status\n";
+    private static final String LINE = "1001,DEV001,Seoul,2024-01-15T10:30:00,CONNECTED\n";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("큰 파일은 여러 구간으로 나누고 작은 파일은 파일 하나를 하나의 파티션으로 만들어야 한다")
+    void should_SplitLargeFileAndKeepSmallFilesWhole_when_FilesHaveDifferentSizes() throws IOException {
+        // Given
+        Path large = writeFile("large.csv", HEADER + LINE.repeat(40));
+        Path small1 = writeFile("small1.csv", HEADER + LINE);
+        Path small2 = writeFile("small2.csv", HEADER + LINE);
+        MultiFilePartitioner partitioner = new MultiFilePartitioner(resources(large, small1, small2), 1);
+
+        // When
+        Map<String, ExecutionContext> partitions = partitioner.partition(4);
+
+        // Then
+        assertThat(partitionsOf(partitions, large)).hasSize(4);
+        assertThat(partitionsOf(partitions, small1)).hasSize(1);
+        assertThat(partitionsOf(partitions, small2)).hasSize(1);
+        assertThat(partitions).hasSize(6);
+    }
+
+    @Test
+    @DisplayName("파일별 구간은 개행 경계에서 시작하고 헤더를 제외한 데이터 영역 전체를 빈틈없이 덮어야 한다")
+    void should_CoverEachFileContiguously_when_FileIsSplit() throws IOException {
+        // Given
+        Path large = writeFile("large.csv", HEADER + LINE.repeat(40));
+        byte[] bytes = Files.readAllBytes(large);
+        MultiFilePartitioner partitioner = new MultiFilePartitioner(resources(large), 1);
+
+        // When
+        List<ExecutionContext> ranges = partitionsOf(partitioner.partition(3), large);
+
+        // Then
+        assertThat(ranges.get(0).getLong("startOffset")).isEqualTo(HEADER.length());
+        for (int i = 1; i < ranges.size(); i++) {
+            long start = ranges.get(i).getLong("startOffset");
+            assertThat(start).isEqualTo(ranges.get(i - 1).getLong("endOffset"));
+            assertThat(bytes[(int) start - 1]).isEqualTo((byte) '\n');
+        }
+        assertThat(ranges.get(ranges.size() - 1).getLong("endOffset")).isEqualTo(bytes.length);
+    }
+
+    @Test
+    @DisplayName("헤더만 있는 파일은 파티션을 만들지 않아야 한다")
+    void should_SkipFile_when_FileHasOnlyHeader() throws IOException {
+        // Given
+        Path data = writeFile("data.csv", HEADER + LINE);
+        Path empty = writeFile("empty.csv", HEADER);
+        MultiFilePartitioner partitioner = new MultiFilePartitioner(resources(data, empty), 1);
+
+        // When
+        Map<String, ExecutionContext> partitions = partitioner.partition(2);
+
+        // Then
+        assertThat(partitions).hasSize(1);
+        assertThat(partitionsOf(partitions, empty)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("증분 모드에서는 이전 실행이 처리한 위치부터 마지막 개행까지만 파티션을 만들어야 한다")
+    void should_PartitionOnlyAppendedCompleteLines_when_HighWaterMarksGiven() throws IOException {
+        // Given
+        Path file = writeFile("roaming.csv", HEADER + LINE.repeat(2));
+        ExecutionContext firstRun = new ExecutionContext();
+        MultiFilePartitioner firstPartitioner = new MultiFilePartitioner(resources(file), 1);
+        firstPartitioner.setHighWaterMarks(new HighWaterMarks(firstRun));
+        firstPartitioner.partition(1);
+
+        Files.writeString(file, LINE.repeat(2) + "1005,DEV005", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        ExecutionContext secondRun = new ExecutionContext();
+        HighWaterMarks highWaterMarks = new HighWaterMarks(secondRun);
+        highWaterMarks.carryForward(firstRun);
+        MultiFilePartitioner partitioner = new MultiFilePartitioner(resources(file), 1);
+        partitioner.setHighWaterMarks(highWaterMarks);
+
+        // When
+        List<ExecutionContext> ranges = partitionsOf(partitioner.partition(1), file);
+
+        // Then
+        long previousEnd = HEADER.length() + LINE.length() * 2L;
+        long completeEnd = HEADER.length() + LINE.length() * 4L;
+        assertThat(ranges).hasSize(1);
+        assertThat(ranges.get(0).getLong("startOffset")).isEqualTo(previousEnd);
+        assertThat(ranges.get(0).getLong("endOffset")).isEqualTo(completeEnd);
+        assertThat(highWaterMarks.endOffset(file.toString())).isEqualTo(completeEnd);
+    }
+
+    private List<ExecutionContext> partitionsOf(Map<String, ExecutionContext> partitions, Path file) {
+        return partitions.values().stream()
+                .filter(context -> context.getString("inputFile").equals(file.toString()))
+                .sorted(Comparator.comparingLong(context -> context.getLong("startOffset")))
+                .toList();
+    }
+
+    private List<Resource> resources(Path... files) {
+        return Arrays.stream(files).<Resource>map(FileSystemResource::new).toList();
+    }
+
+    private Path writeFile(String name, String content) throws IOException {
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
@@ -0,0 +1,114 @@
+package com.roaming.job.partitioner;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkQueuePartitionHandlerTest {
+
+    @Test
+    @DisplayName("한 파티션이 오래 걸리면 다른 워커가 남은 파티션을 모두 가져가 실행해야 한다")
+    void should_DrainRemainingSplits_when_OnePartitionIsSlow() throws Exception {
+        // Given
+        CountDownLatch fastDone = new CountDownLatch(5);
+        List<Boolean> slowReleased = Collections.synchronizedList(new ArrayList<>());
+        WorkQueuePartitionHandler handler = createHandler(2, stepExecution -> {
+            if (stepExecution.getStepName().endsWith("partition0")) {
+                slowReleased.add(await(fastDone));
+            } else {
+                fastDone.countDown();
+            }
+        });
+        Set<StepExecution> partitions = partitions(1000, 10, 10, 10, 10, 10);
+
+        // When
+        Set<StepExecution> result = handler.doHandle(partitions.iterator().next(), partitions);
+
+        // Then
+        assertThat(slowReleased).containsExactly(true);
+        assertThat(result).extracting(StepExecution::getStatus).containsOnly(BatchStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("큰 파티션부터 실행해야 한다")
+    void should_RunLargestSplitFirst_when_SplitsHaveDifferentSizes() throws Exception {
+        // Given
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        WorkQueuePartitionHandler handler = createHandler(1, stepExecution -> order.add(stepExecution.getStepName()));
+        Set<StepExecution> partitions = partitions(10, 300, 20, 100);
+
+        // When
+        handler.doHandle(partitions.iterator().next(), partitions);
+
+        // Then
+        assertThat(order).containsExactly(
+                "workerStep:partition1", "workerStep:partition3", "workerStep:partition2", "workerStep:partition0");
+    }
+
+    private WorkQueuePartitionHandler createHandler(int workers, Consumer<StepExecution> work) {
+        WorkQueuePartitionHandler handler = new WorkQueuePartitionHandler();
+        handler.setStep(new Step() {
+            @Override
+            public String getName() {
+                return "workerStep";
+            }
+
+            @Override
+            public boolean isAllowStartIfComplete() {
+                return false;
+            }
+
+            @Override
+            public int getStartLimit() {
+                return Integer.MAX_VALUE;
+            }
+
+            @Override
+            public void execute(StepExecution stepExecution) {
+                work.accept(stepExecution);
+                stepExecution.setStatus(BatchStatus.COMPLETED);
+            }
+        });
+        handler.setTaskExecutor(new SimpleAsyncTaskExecutor("queue-test-"));
+        handler.setWorkers(workers);
+        handler.afterPropertiesSet();
+        return handler;
+    }
+
+    private Set<StepExecution> partitions(long... sizes) {
+        JobExecution jobExecution = MetaDataInstanceFactory.createJobExecution();
+        Set<StepExecution> partitions = new LinkedHashSet<>();
+        for (int i = 0; i < sizes.length; i++) {
+            StepExecution stepExecution = jobExecution.createStepExecution("workerStep:partition" + i);
+            stepExecution.getExecutionContext().putLong("startOffset", 0);
+            stepExecution.getExecutionContext().putLong("endOffset", sizes[i]);
+            partitions.add(stepExecution);
+        }
+        return partitions;
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.roaming.job.processor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoamingTimestampParserTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "2024-01-15T10:30:00",
+            "1999-12-31T23:59:59",
+            "2024-02-29T00:00:00",
+            "2024-01-15T10:30",
+            "2024-01-15T10:30:00.123"
+    })
+    @DisplayName("ISO_LOCAL_DATE_TIME 과 같은 LocalDateTime 을 반환해야 한다")
+    void should_ParseSameAsIsoFormatter_when_ValidTimestamp(String text) {
+        // When
+        LocalDateTime result = RoamingTimestampParser.parse(text);
+
+        // Then
+        assertThat(result).isEqualTo(LocalDateTime.parse(text, DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2024-02-30T10:30:00", "2024-13-15T10:30:00", "2024-01-15T24:00:00", "2024-01-1xT10:30:00", "invalid-date"})
+    @DisplayName("유효하지 않은 timestamp 는 DateTimeParseException 을 던져야 한다")
+    void should_ThrowDateTimeParseException_when_InvalidTimestamp(String text) {
+        // When & Then
+        assertThatThrownBy(() -> RoamingTimestampParser.parse(text))
+                .isInstanceOf(DateTimeParseException.class);
+    }
+
+    @Test
+    @DisplayName("null timestamp 는 ISO 파서와 같이 NullPointerException 을 던져야 한다")
+    void should_ThrowNullPointerException_when_TimestampNull() {
+        // When & Then
+        assertThatThrownBy(() -> RoamingTimestampParser.parse(null))
+                .isInstanceOf(NullPointerException.class);
+    }
+}
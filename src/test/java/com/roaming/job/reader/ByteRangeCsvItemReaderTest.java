@@ -0,0 +1,272 @@
+package com.roaming.job.reader;
+
+import com.roaming.domain.RoamingData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ByteRangeCsvItemReaderTest {
+
+    private static final String HEADER = "userId,deviceId,location,timestamp,status\n";
+    private static final String LINE1 = "1001,DEV001,Seoul,2024-01-15T10:30:00,CONNECTED\n";
+    private static final String LINE2 = "1002,DEV002,Busan,2024-01-15T10:35:00,CONNECTED\r\n";
+    private static final String LINE3 = "1003,DEV003,Incheon,2024-01-15T10:40:00,DISCONNECTED";
+
+    @TempDir
+    Path tempDir;
+
+    private ByteRangeCsvItemReader reader;
+
+    @AfterEach
+    void tearDown() {
+        if (reader != null) {
+            reader.close();
+        }
+    }
+
+    @Test
+    @DisplayName("지정된 바이트 구간에 속한 라인만 읽어야 한다")
+    void should_ReadOnlyLinesInRange_when_OffsetsGiven() throws Exception {
+        // Given
+        Path file = writeFile(HEADER + LINE1 + LINE2 + LINE3);
+        long start = HEADER.length() + LINE1.length();
+        long end = start + LINE2.length();
+        reader = createReader(file, start, end);
+
+        // When
+        List<RoamingData> items = readAll();
+
+        // Then
+        assertThat(items).extracting(RoamingData::getDeviceId).containsExactly("DEV002");
+        assertThat(items.get(0).getStatus()).isEqualTo("CONNECTED");
+    }
+
+    @Test
+    @DisplayName("마지막 구간은 개행 없이 끝나는 마지막 라인까지 읽어야 한다")
+    void should_ReadLastLineWithoutNewline_when_RangeReachesEndOfFile() throws Exception {
+        // Given
+        Path file = writeFile(HEADER + LINE1 + LINE2 + LINE3);
+        reader = createReader(file, HEADER.length(), Files.size(file));
+
+        // When
+        List<RoamingData> items = readAll();
+
+        // Then
+        assertThat(items).extracting(RoamingData::getDeviceId)
+                .containsExactly("DEV001", "DEV002", "DEV003");
+        assertThat(items.get(2).getUserId()).isEqualTo(1003L);
+    }
+
+    @Test
+    @DisplayName("RoamingCsvParser 를 설정하면 멀티바이트 문자를 포함한 라인을 파서로 읽어야 한다")
+    void should_ReadWithParser_when_ParserConfigured() throws Exception {
+        // Given
+        Path file = writeFile(HEADER + LINE1 + "1002,DEV002,서울 강남,2024-01-15T10:35:00,ROAMING\r\n" + LINE3);
+        reader = new ByteRangeCsvItemReader();
+        reader.setName("byteRangeCsvReader");
+        reader.setResource(new FileSystemResource(file));
+        reader.setParser(new RoamingCsvParser());
+        reader.setStartOffset(HEADER.length());
+        reader.setEndOffset(Files.size(file));
+        reader.open(new ExecutionContext());
+
+        // When
+        List<RoamingData> items = readAll();
+
+        // Then
+        assertThat(items).extracting(RoamingData::getLocation)
+                .containsExactly("Seoul", "서울 강남", "Incheon");
+        assertThat(items.get(1).getStatus()).isEqualTo("ROAMING");
+    }
+
+    @Test
+    @DisplayName("gzip 파일은 압축을 풀면서 헤더 이후의 모든 라인을 읽어야 한다")
+    void should_ReadDecompressedLines_when_ResourceIsGzip() throws Exception {
+        // Given
+        Path file = tempDir.resolve("roaming.csv.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write((HEADER + LINE1 + LINE2 + LINE3).getBytes(StandardCharsets.UTF_8));
+        }
+        reader = new ByteRangeCsvItemReader();
+        reader.setName("byteRangeCsvReader");
+        reader.setResource(DecompressingResource.wrapIfCompressed(new FileSystemResource(file)));
+        reader.setParser(new RoamingCsvParser());
+        reader.setStartOffset(HEADER.length());
+        reader.setEndOffset(Long.MAX_VALUE);
+        reader.open(new ExecutionContext());
+
+        // When
+        List<RoamingData> items = readAll();
+
+        // Then
+        assertThat(items).extracting(RoamingData::getDeviceId)
+                .containsExactly("DEV001", "DEV002", "DEV003");
+    }
+
+    @Test
+    @DisplayName("증분 모드에서는 이전 실행 이후 추가된 완전한 라인만 읽어야 한다")
+    void should_ReadOnlyAppendedLines_when_HighWaterMarkExists() throws Exception {
+        // Given
+        Path file = writeFile(HEADER + LINE1 + LINE2);
+        ExecutionContext firstRun = new ExecutionContext();
+        reader = createIncrementalReader(file, new HighWaterMarks(firstRun));
+        assertThat(readAll()).hasSize(2);
+        reader.close();
+
+        Files.writeString(file, LINE3 + "\n1004,DEV004", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        ExecutionContext secondRun = new ExecutionContext();
+        HighWaterMarks highWaterMarks = new HighWaterMarks(secondRun);
+        highWaterMarks.carryForward(firstRun);
+        reader = createIncrementalReader(file, highWaterMarks);
+
+        // When
+        List<RoamingData> items = readAll();
+
+        // Then
+        assertThat(items).extracting(RoamingData::getDeviceId).containsExactly("DEV003");
+        assertThat(highWaterMarks.endOffset(file.toString()))
+                .isEqualTo(Files.size(file) - "1004,DEV004".length());
+    }
+
+    @Test
+    @DisplayName("증분 모드에서 압축 파일은 크기가 그대로면 건너뛰고, 뒤에 추가된 gzip 멤버의 라인만 읽어야 한다")
+    void should_ReadOnlyAppendedMember_when_CompressedFileGrows() throws Exception {
+        // Given
+        Path file = tempDir.resolve("roaming.csv.gz");
+        appendGzipMember(file, HEADER + LINE1 + LINE2);
+        ExecutionContext firstRun = new ExecutionContext();
+        reader = createIncrementalResourceReader(compressed(file), new HighWaterMarks(firstRun));
+        assertThat(readAll()).hasSize(2);
+        reader.close();
+
+        ExecutionContext secondRun = new ExecutionContext();
+        HighWaterMarks unchanged = new HighWaterMarks(secondRun);
+        unchanged.carryForward(firstRun);
+        reader = createIncrementalResourceReader(compressed(file), unchanged);
+        assertThat(readAll()).isEmpty();
+        reader.close();
+
+        appendGzipMember(file, LINE3);
+        ExecutionContext thirdRun = new ExecutionContext();
+        HighWaterMarks appended = new HighWaterMarks(thirdRun);
+        appended.carryForward(secondRun);
+        reader = createIncrementalResourceReader(compressed(file), appended);
+
+        // When
+        List<RoamingData> items = readAll();
+
+        // Then
+        assertThat(items).extracting(RoamingData::getDeviceId).containsExactly("DEV003");
+    }
+
+    @Test
+    @DisplayName("재시작하면 앞의 라인을 다시 읽지 않고 저장된 바이트 위치부터 읽어야 한다")
+    void should_SeekToSavedOffset_when_Restarted() throws Exception {
+        // Given
+        Path file = writeFile(HEADER + LINE1 + LINE2 + LINE3);
+        ExecutionContext executionContext = new ExecutionContext();
+        reader = createReader(file, HEADER.length(), Files.size(file));
+        reader.read();
+        reader.update(executionContext);
+        reader.close();
+
+        // 첫 라인을 파싱할 수 없는 같은 길이의 내용으로 바꿔 다시 읽으면 실패하게 한다
+        Files.writeString(file, HEADER + "x".repeat(LINE1.length() - 1) + "\n" + LINE2 + LINE3, StandardCharsets.UTF_8);
+        reader = createReader(file, HEADER.length(), Files.size(file), executionContext);
+
+        // When
+        List<RoamingData> items = readAll();
+        reader.update(executionContext);
+
+        // Then
+        assertThat(items).extracting(RoamingData::getDeviceId).containsExactly("DEV002", "DEV003");
+        assertThat(executionContext.getInt("byteRangeCsvReader.read.count")).isEqualTo(3);
+        assertThat(executionContext.getLong("byteRangeCsvReader.position")).isEqualTo(Files.size(file));
+    }
+
+    private ByteRangeCsvItemReader createIncrementalReader(Path file, HighWaterMarks highWaterMarks) {
+        return createIncrementalResourceReader(new FileSystemResource(file), highWaterMarks);
+    }
+
+    private ByteRangeCsvItemReader createIncrementalResourceReader(Resource resource, HighWaterMarks highWaterMarks) {
+        ByteRangeCsvItemReader incrementalReader = new ByteRangeCsvItemReader();
+        incrementalReader.setName("incrementalCsvItemReader");
+        incrementalReader.setResource(resource);
+        incrementalReader.setParser(new RoamingCsvParser());
+        incrementalReader.setHighWaterMarks(highWaterMarks);
+        incrementalReader.open(new ExecutionContext());
+        return incrementalReader;
+    }
+
+    private ByteRangeCsvItemReader createReader(Path file, long start, long end) {
+        return createReader(file, start, end, new ExecutionContext());
+    }
+
+    private ByteRangeCsvItemReader createReader(Path file, long start, long end, ExecutionContext executionContext) {
+        ByteRangeCsvItemReader byteRangeReader = new ByteRangeCsvItemReader();
+        byteRangeReader.setName("byteRangeCsvReader");
+        byteRangeReader.setResource(new FileSystemResource(file));
+        byteRangeReader.setLineMapper(lineMapper());
+        byteRangeReader.setStartOffset(start);
+        byteRangeReader.setEndOffset(end);
+        byteRangeReader.open(executionContext);
+        return byteRangeReader;
+    }
+
+    private DefaultLineMapper<RoamingData> lineMapper() {
+        DefaultLineMapper<RoamingData> lineMapper = new DefaultLineMapper<>();
+        DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
+        tokenizer.setNames("userId", "deviceId", "location", "timestamp", "status");
+        lineMapper.setLineTokenizer(tokenizer);
+
+        BeanWrapperFieldSetMapper<RoamingData> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
+        fieldSetMapper.setTargetType(RoamingData.class);
+        lineMapper.setFieldSetMapper(fieldSetMapper);
+
+        return lineMapper;
+    }
+
+    private List<RoamingData> readAll() throws Exception {
+        List<RoamingData> items = new ArrayList<>();
+        RoamingData item;
+        while ((item = reader.read()) != null) {
+            items.add(item);
+        }
+        return items;
+    }
+
+    private Resource compressed(Path file) {
+        return DecompressingResource.wrapIfCompressed(new FileSystemResource(file));
+    }
+
+    private void appendGzipMember(Path file, String content) throws Exception {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private Path writeFile(String content) throws Exception {
+        Path file = tempDir.resolve("roaming.csv");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        return file;
+    }
+}
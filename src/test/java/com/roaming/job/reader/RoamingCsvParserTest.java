@@ -0,0 +1,98 @@
+package com.roaming.job.reader;
+
+import com.roaming.domain.RoamingData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.transform.IncorrectTokenCountException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoamingCsvParserTest {
+
+    private RoamingCsvParser parser;
+    private DelimitedLineTokenizer tokenizer;
+    private RoamingDataFieldSetMapper fieldSetMapper;
+
+    @BeforeEach
+    void setUp() {
+        parser = new RoamingCsvParser();
+        tokenizer = new DelimitedLineTokenizer();
+        tokenizer.setNames("userId", "deviceId", "location", "timestamp", "status");
+        fieldSetMapper = new RoamingDataFieldSetMapper();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "1001,DEV001,Seoul,2024-01-15T10:30:00,CONNECTED",
+            ",DEV002,Busan,2024-01-15T10:35:00,ROAMING",
+            " 1003 , DEV003 , Incheon ,2024-01-15T10:40:00, DISCONNECTED ",
+            "1004,DEV004,\"Seoul, KR\",2024-01-15T10:45:00,CONNECTED",
+            "1005,\"DEV\"\"5\"\"\",\" Jeju \",2024-01-15T10:50:00,\"ROAMING\"",
+            "\"1006\",DEV006,,2024-01-15T10:55:00,",
+            "1008,DEV008,서울,2024-01-15T11:05:00,CONNECTED"
+    })
+    @DisplayName("DelimitedLineTokenizer + RoamingDataFieldSetMapper 와 같은 RoamingData 를 만들어야 한다")
+    void should_ParseSameAsTokenizer_when_ValidLine(String line) {
+        // When
+        RoamingData result = parse(line);
+
+        // Then
+        assertThat(result).isEqualTo(fieldSetMapper.mapFieldSet(tokenizer.tokenize(line)));
+    }
+
+    @Test
+    @DisplayName("버퍼의 offset/length 구간만 파싱해야 한다")
+    void should_ParseOnlyGivenRange_when_OffsetAndLengthProvided() {
+        // Given
+        char[] buffer = "XXX1001,DEV001,Seoul,2024-01-15T10:30:00,CONNECTEDYYY".toCharArray();
+
+        // When
+        RoamingData result = parser.parse(buffer, 3, buffer.length - 6);
+
+        // Then
+        assertThat(result.getUserId()).isEqualTo(1001L);
+        assertThat(result.getStatus()).isEqualTo("CONNECTED");
+    }
+
+    @Test
+    @DisplayName("location 과 status 는 같은 값이면 같은 문자열 인스턴스를 재사용해야 한다")
+    void should_ReuseStringInstances_when_RepeatedLocationAndStatus() {
+        // When
+        RoamingData first = parse("1001,DEV001,Seoul,2024-01-15T10:30:00,CONNECTED");
+        RoamingData second = parse("1002,DEV002,Seoul,2024-01-15T10:35:00,CONNECTED");
+
+        // Then
+        assertThat(second.getLocation()).isSameAs(first.getLocation());
+        assertThat(second.getStatus()).isSameAs(first.getStatus());
+        assertThat(second.getDeviceId()).isEqualTo("DEV002");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "1001,DEV001,Seoul,2024-01-15T10:30:00", "1001,DEV001,Seoul,2024-01-15T10:30:00,CONNECTED,EXTRA"})
+    @DisplayName("컬럼 수가 5개가 아니면 IncorrectTokenCountException 을 던져야 한다")
+    void should_ThrowIncorrectTokenCount_when_ColumnCountMismatch(String line) {
+        // When & Then
+        assertThatThrownBy(() -> parse(line))
+                .isInstanceOf(IncorrectTokenCountException.class);
+        assertThatThrownBy(() -> tokenizer.tokenize(line))
+                .isInstanceOf(IncorrectTokenCountException.class);
+    }
+
+    @Test
+    @DisplayName("숫자가 아닌 userId 는 NumberFormatException 을 던져야 한다")
+    void should_ThrowNumberFormatException_when_UserIdNotNumeric() {
+        // When & Then
+        assertThatThrownBy(() -> parse("abc,DEV001,Seoul,2024-01-15T10:30:00,CONNECTED"))
+                .isInstanceOf(NumberFormatException.class);
+    }
+
+    private RoamingData parse(String line) {
+        char[] chars = line.toCharArray();
+        return parser.parse(chars, 0, chars.length);
+    }
+}
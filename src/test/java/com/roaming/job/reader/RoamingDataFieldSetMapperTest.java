@@ -0,0 +1,69 @@
+package com.roaming.job.reader;
+
+import com.roaming.domain.RoamingData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.transform.FieldSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RoamingDataFieldSetMapperTest {
+
+    private DelimitedLineTokenizer tokenizer;
+    private RoamingDataFieldSetMapper mapper;
+    private BeanWrapperFieldSetMapper<RoamingData> beanWrapperMapper;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        tokenizer = new DelimitedLineTokenizer();
+        tokenizer.setNames("userId", "deviceId", "location", "timestamp", "status");
+        mapper = new RoamingDataFieldSetMapper();
+        beanWrapperMapper = new BeanWrapperFieldSetMapper<>();
+        beanWrapperMapper.setTargetType(RoamingData.class);
+        beanWrapperMapper.afterPropertiesSet();
+    }
+
+    @Test
+    @DisplayName("BeanWrapperFieldSetMapper 와 같은 RoamingData 를 만들어야 한다")
+    void should_MapSameAsBeanWrapper_when_ValidLine() throws Exception {
+        // Given
+        FieldSet fieldSet = tokenizer.tokenize("1001,DEV001,\"Seoul, KR\",2024-01-15T10:30:00,CONNECTED");
+
+        // When
+        RoamingData result = mapper.mapFieldSet(fieldSet);
+
+        // Then
+        assertThat(result).isEqualTo(beanWrapperMapper.mapFieldSet(fieldSet));
+        assertThat(result.getUserId()).isEqualTo(1001L);
+        assertThat(result.getLocation()).isEqualTo("Seoul, KR");
+    }
+
+    @Test
+    @DisplayName("빈 userId 는 null 로 매핑해야 한다")
+    void should_MapNullUserId_when_UserIdEmpty() throws Exception {
+        // Given
+        FieldSet fieldSet = tokenizer.tokenize(",DEV002,Busan,2024-01-15T10:35:00,ROAMING");
+
+        // When
+        RoamingData result = mapper.mapFieldSet(fieldSet);
+
+        // Then
+        assertThat(result.getUserId()).isNull();
+        assertThat(result).isEqualTo(beanWrapperMapper.mapFieldSet(fieldSet));
+    }
+
+    @Test
+    @DisplayName("숫자가 아닌 userId 는 NumberFormatException 을 던져야 한다")
+    void should_ThrowNumberFormatException_when_UserIdNotNumeric() {
+        // Given
+        FieldSet fieldSet = tokenizer.tokenize("USER001,DEV001,Seoul,2024-01-15T10:30:00,CONNECTED");
+
+        // When & Then
+        assertThatThrownBy(() -> mapper.mapFieldSet(fieldSet))
+                .isInstanceOf(NumberFormatException.class);
+    }
+}
@@ -0,0 +1,282 @@
+package com.roaming.job.remote;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInterruptedException;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.explore.support.JobExplorerFactoryBean;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RemotePartitionWorkerTest {
+
+    private EmbeddedDatabase dataSource;
+    private JobRepository jobRepository;
+    private JobExplorer jobExplorer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("/org/springframework/batch/core/schema-h2.sql")
+                .build();
+        JdbcTransactionManager transactionManager = new JdbcTransactionManager(dataSource);
+
+        JobRepositoryFactoryBean repositoryFactory = new JobRepositoryFactoryBean();
+        repositoryFactory.setDataSource(dataSource);
+        repositoryFactory.setTransactionManager(transactionManager);
+        repositoryFactory.afterPropertiesSet();
+        jobRepository = repositoryFactory.getObject();
+
+        JobExplorerFactoryBean explorerFactory = new JobExplorerFactoryBean();
+        explorerFactory.setDataSource(dataSource);
+        explorerFactory.setTransactionManager(transactionManager);
+        explorerFactory.afterPropertiesSet();
+        jobExplorer = explorerFactory.getObject();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    @DisplayName("STARTING 상태의 파티션을 한 번씩만 선점해야 한다")
+    void should_ClaimEachPartitionOnce_when_PartitionsAreStarting() throws Exception {
+        // Given
+        Set<StepExecution> partitions = createPartitions(2);
+        RemotePartitionWorker worker = createWorker();
+
+        // When
+        Optional<StepExecution> first = worker.claimNext();
+        Optional<StepExecution> second = worker.claimNext();
+        Optional<StepExecution> third = worker.claimNext();
+
+        // Then
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+        assertThat(third).isEmpty();
+        assertThat(Set.of(first.get().getId(), second.get().getId()))
+                .containsExactlyInAnyOrderElementsOf(partitions.stream().map(StepExecution::getId).toList());
+        assertThat(first.get().getStatus()).isEqualTo(BatchStatus.STARTED);
+    }
+
+    @Test
+    @DisplayName("worker 가 모든 파티션을 실행하면 manager 가 완료된 파티션을 반환해야 한다")
+    void should_ReturnFinishedPartitions_when_WorkerCompletesThem() throws Exception {
+        // Given
+        Set<StepExecution> partitions = createPartitions(3);
+        StepExecution managerStepExecution = partitions.iterator().next().getJobExecution()
+                .createStepExecution("managerStep");
+        RemotePartitionWorker worker = createWorker();
+        worker.setConcurrency(2);
+
+        DatabasePartitionHandler handler = new DatabasePartitionHandler();
+        handler.setJobExplorer(jobExplorer);
+        handler.setPollInterval(Duration.ofMillis(50));
+        handler.setTimeout(Duration.ofSeconds(10));
+        handler.afterPropertiesSet();
+
+        // When
+        worker.start();
+        Set<StepExecution> result;
+        try {
+            result = handler.doHandle(managerStepExecution, partitions);
+        } finally {
+            worker.stop();
+        }
+
+        // Then
+        assertThat(result).hasSize(3);
+        assertThat(result).extracting(StepExecution::getStatus).containsOnly(BatchStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("heartbeat 가 lease 보다 오래된 파티션은 다시 STARTING 으로 돌려 다른 worker 가 실행해야 한다")
+    void should_RequeuePartition_when_WorkerStopsSendingHeartbeats() throws Exception {
+        // Given
+        Set<StepExecution> partitions = createPartitions(1);
+        StepExecution managerStepExecution = partitions.iterator().next().getJobExecution()
+                .createStepExecution("managerStep");
+        StepExecution claimed = createWorker().claimNext().orElseThrow();
+        expireHeartbeat(claimed.getId());
+        RemotePartitionWorker worker = createWorker();
+        DatabasePartitionHandler handler = createLeaseHandler(1);
+
+        // When
+        worker.start();
+        Set<StepExecution> result;
+        try {
+            result = handler.doHandle(managerStepExecution, partitions);
+        } finally {
+            worker.stop();
+        }
+
+        // Then
+        assertThat(result).extracting(StepExecution::getStatus).containsOnly(BatchStatus.COMPLETED);
+    }
+
+    @Test
+    @DisplayName("다시 돌릴 수 있는 횟수를 넘으면 heartbeat 가 끊긴 파티션을 FAILED 로 끝내야 한다")
+    void should_FailPartition_when_RequeuesExhausted() throws Exception {
+        // Given
+        Set<StepExecution> partitions = createPartitions(1);
+        StepExecution managerStepExecution = partitions.iterator().next().getJobExecution()
+                .createStepExecution("managerStep");
+        StepExecution claimed = createWorker().claimNext().orElseThrow();
+        expireHeartbeat(claimed.getId());
+        DatabasePartitionHandler handler = createLeaseHandler(0);
+
+        // When
+        Set<StepExecution> result = handler.doHandle(managerStepExecution, partitions);
+
+        // Then
+        assertThat(result).extracting(StepExecution::getStatus).containsOnly(BatchStatus.FAILED);
+        assertThat(result).extracting(stepExecution -> stepExecution.getExitStatus().getExitCode())
+                .containsOnly(ExitStatus.FAILED.getExitCode());
+    }
+
+    @Test
+    @DisplayName("실행 중인 파티션의 LAST_UPDATED 를 heartbeat 간격마다 갱신해야 한다")
+    void should_RefreshLastUpdated_when_PartitionRunsLong() throws Exception {
+        // Given
+        Set<StepExecution> partitions = createPartitions(1);
+        Long stepExecutionId = partitions.iterator().next().getId();
+        LocalDateTime expired = LocalDateTime.now().minusMinutes(10);
+        List<LocalDateTime> observed = new ArrayList<>();
+        RemotePartitionWorker worker = createWorker(stepExecution -> {
+            expireHeartbeat(stepExecutionId);
+            Thread.sleep(300);
+            observed.add(lastUpdated(stepExecutionId));
+        });
+        worker.setHeartbeatIntervalMillis(20);
+
+        // When
+        worker.start();
+        try {
+            DatabasePartitionHandler handler = new DatabasePartitionHandler();
+            handler.setJobExplorer(jobExplorer);
+            handler.setPollInterval(Duration.ofMillis(50));
+            handler.setTimeout(Duration.ofSeconds(10));
+            handler.afterPropertiesSet();
+            handler.doHandle(partitions.iterator().next().getJobExecution().createStepExecution("managerStep"),
+                    partitions);
+        } finally {
+            worker.stop();
+        }
+
+        // Then
+        assertThat(observed).singleElement().satisfies(lastUpdated -> assertThat(lastUpdated).isAfter(expired));
+    }
+
+    private DatabasePartitionHandler createLeaseHandler(int maxRequeues) {
+        DatabasePartitionHandler handler = new DatabasePartitionHandler();
+        handler.setJobExplorer(jobExplorer);
+        handler.setJdbcTemplate(new JdbcTemplate(dataSource));
+        handler.setLease(Duration.ofSeconds(1));
+        handler.setMaxRequeues(maxRequeues);
+        handler.setPollInterval(Duration.ofMillis(50));
+        handler.setTimeout(Duration.ofSeconds(10));
+        handler.afterPropertiesSet();
+        return handler;
+    }
+
+    private void expireHeartbeat(Long stepExecutionId) {
+        new JdbcTemplate(dataSource).update(
+                "UPDATE BATCH_STEP_EXECUTION SET LAST_UPDATED = ? WHERE STEP_EXECUTION_ID = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusMinutes(10)), stepExecutionId);
+    }
+
+    private LocalDateTime lastUpdated(Long stepExecutionId) {
+        return new JdbcTemplate(dataSource).queryForObject(
+                "SELECT LAST_UPDATED FROM BATCH_STEP_EXECUTION WHERE STEP_EXECUTION_ID = ?",
+                Timestamp.class, stepExecutionId).toLocalDateTime();
+    }
+
+    private Set<StepExecution> createPartitions(int count) throws Exception {
+        JobExecution jobExecution = jobRepository.createJobExecution("remoteJob", new JobParameters());
+        Set<StepExecution> partitions = new HashSet<>();
+        for (int i = 0; i < count; i++) {
+            partitions.add(jobExecution.createStepExecution("workerStep:partition" + i));
+        }
+        jobRepository.addAll(partitions);
+        return partitions;
+    }
+
+    private RemotePartitionWorker createWorker() {
+        return createWorker(stepExecution -> {
+        });
+    }
+
+    /**
+     * work 를 실행한 뒤 파티션을 완료 상태로 저장하는 Step 으로 worker 를 만든다.
+     */
+    private RemotePartitionWorker createWorker(PartitionWork work) {
+        RemotePartitionWorker worker = new RemotePartitionWorker();
+        worker.setJdbcTemplate(new JdbcTemplate(dataSource));
+        worker.setJobExplorer(jobExplorer);
+        worker.setPollIntervalMillis(20);
+        worker.setStep(new Step() {
+            @Override
+            public String getName() {
+                return "workerStep";
+            }
+
+            @Override
+            public boolean isAllowStartIfComplete() {
+                return false;
+            }
+
+            @Override
+            public int getStartLimit() {
+                return Integer.MAX_VALUE;
+            }
+
+            @Override
+            public void execute(StepExecution stepExecution) throws JobInterruptedException {
+                try {
+                    work.run(stepExecution);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new JobInterruptedException("Interrupted");
+                }
+                stepExecution.setStatus(BatchStatus.COMPLETED);
+                stepExecution.setExitStatus(ExitStatus.COMPLETED);
+                stepExecution.setEndTime(LocalDateTime.now());
+                jobRepository.update(stepExecution);
+            }
+        });
+        worker.afterPropertiesSet();
+        return worker;
+    }
+
+    @FunctionalInterface
+    private interface PartitionWork {
+        void run(StepExecution stepExecution) throws InterruptedException;
+    }
+}
@@ -0,0 +1,236 @@
+package com.roaming.job.tail;
+
+import com.roaming.domain.RoamingStatusEntity;
+import com.roaming.job.processor.RoamingDataProcessor;
+import com.roaming.job.reader.RoamingCsvLineMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RoamingFileTailerTest {
+
+    private static final String HEADER = "userId,deviceId,location,timestamp,status\n";
+    private static final String LINE1 = "1001,DEV001,Seoul,2024-01-15T10:30:00,CONNECTED\n";
+    private static final String LINE2 = "1002,DEV002,Busan,2024-01-15T10:35:00,ROAMING\n";
+    private static final String LINE3 = "1003,DEV003,Incheon,2024-01-15T10:40:00,DISCONNECTED\n";
+    private static final String LINE4 = "1004,DEV004,Daegu,2024-01-15T10:45:00,CONNECTED\n";
+
+    @TempDir
+    Path tempDir;
+
+    private final List<RoamingStatusEntity> written = new ArrayList<>();
+    private final Map<String, Long> storedOffsets = new HashMap<>();
+    private final TailOffsetStore offsetStore = new TailOffsetStore() {
+        @Override
+        public Map<String, Long> load() {
+            return new HashMap<>(storedOffsets);
+        }
+
+        @Override
+        public void save(Map<String, Long> offsets) {
+            storedOffsets.putAll(offsets);
+        }
+    };
+
+    @Test
+    @DisplayName("추가된 완전한 라인만 처리해 flush 크기 또는 간격마다 써야 한다")
+    void should_WriteAppendedLinesInMicroBatches_when_FileGrows() throws Exception {
+        // Given
+        Path file = tempDir.resolve("roaming.csv");
+        Files.writeString(file, HEADER + LINE1 + LINE2, StandardCharsets.UTF_8);
+        RoamingFileTailer tailer = createTailer(true);
+
+        // When
+        tailer.poll();
+        append(file, LINE3 + LINE4 + "1005,DEV005");
+        tailer.poll();
+        int writtenBeforeFlush = written.size();
+        tailer.flushIfDue();
+
+        // Then
+        assertThat(writtenBeforeFlush).isEqualTo(2);
+        assertThat(written).extracting(RoamingStatusEntity::getDeviceId)
+                .containsExactly("DEV001", "DEV002", "DEV004");
+    }
+
+    @Test
+    @DisplayName("fromBeginning 이 false 면 시작 시점에 있던 내용은 건너뛰고 이후에 추가된 라인만 써야 한다")
+    void should_SkipExistingLines_when_NotFromBeginning() throws Exception {
+        // Given
+        Path file = tempDir.resolve("roaming.csv");
+        Files.writeString(file, HEADER + LINE1, StandardCharsets.UTF_8);
+        RoamingFileTailer tailer = createTailer(false);
+        append(file, LINE2);
+
+        // When
+        tailer.poll();
+        tailer.flushIfDue();
+
+        // Then
+        assertThat(written).extracting(RoamingStatusEntity::getDeviceId).containsExactly("DEV002");
+    }
+
+    @Test
+    @DisplayName("다시 시도해도 쓰기에 실패하면 실패하는 레코드만 건너뛰고 나머지는 써야 한다")
+    void should_SkipPoisonRecord_when_RetriesExhausted() throws Exception {
+        // Given
+        Path file = tempDir.resolve("roaming.csv");
+        Files.writeString(file, HEADER + LINE1 + LINE2, StandardCharsets.UTF_8);
+        RoamingFileTailer tailer = createTailer(true, rejecting("DEV002"), 1);
+
+        // When
+        tailer.poll();
+        tailer.poll();
+        append(file, LINE4);
+        tailer.poll();
+        tailer.flushIfDue();
+
+        // Then
+        assertThat(written).extracting(RoamingStatusEntity::getDeviceId)
+                .containsExactly("DEV001", "DEV004");
+    }
+
+    @Test
+    @DisplayName("건너뛴 건수가 skipLimit 을 넘으면 더 이상 읽지 않아야 한다")
+    void should_StopTailing_when_SkipLimitExceeded() throws Exception {
+        // Given
+        Path file = tempDir.resolve("roaming.csv");
+        Files.writeString(file, HEADER + LINE1 + LINE2, StandardCharsets.UTF_8);
+        RoamingFileTailer tailer = createTailer(true, rejecting("DEV002"), 0);
+        tailer.setRetryLimit(0);
+
+        // When
+        tailer.poll();
+        append(file, LINE3 + LINE4);
+        tailer.poll();
+        tailer.flushIfDue();
+
+        // Then
+        assertThat(written).extracting(RoamingStatusEntity::getDeviceId).containsExactly("DEV001");
+    }
+
+    @Test
+    @DisplayName("skipLimit 을 넘겨 멈춘 뒤 다시 시작하면 쓰지 못한 라인부터 이어서 써야 한다")
+    void should_ResumeAfterAbortedRecord_when_RestartedAfterSkipLimitExceeded() throws Exception {
+        // Given
+        Path file = tempDir.resolve("roaming.csv");
+        Files.writeString(file, HEADER + LINE1 + LINE2 + LINE3 + LINE4, StandardCharsets.UTF_8);
+        RoamingFileTailer aborted = createResumableTailer(true, 0);
+
+        // When
+        aborted.poll();
+        aborted.flushIfDue();
+        RoamingFileTailer restarted = createResumableTailer(false, 5);
+        restarted.poll();
+        restarted.flushIfDue();
+
+        // Then
+        assertThat(written).extracting(RoamingStatusEntity::getDeviceId)
+                .containsExactly("DEV001", "DEV002", "DEV004");
+        assertThat(storedOffsets).containsEntry(file.toAbsolutePath().normalize().toString(), Files.size(file));
+    }
+
+    @Test
+    @DisplayName("다시 시작하면 끝으로 건너뛰지 않고 쓰지 못하고 멈춘 라인부터 읽어야 한다")
+    void should_ReadUnwrittenLines_when_RestartedWithStoredOffsets() throws Exception {
+        // Given
+        Path file = tempDir.resolve("roaming.csv");
+        Files.writeString(file, HEADER + LINE1, StandardCharsets.UTF_8);
+        RoamingFileTailer stopped = createResumableTailer(false, 5);
+        append(file, LINE2);
+
+        // When
+        stopped.poll();
+        int writtenBeforeRestart = written.size();
+        append(file, LINE4);
+        RoamingFileTailer restarted = createResumableTailer(false, 5);
+        restarted.poll();
+
+        // Then
+        assertThat(writtenBeforeRestart).isZero();
+        assertThat(written).extracting(RoamingStatusEntity::getDeviceId).containsExactly("DEV002", "DEV004");
+    }
+
+    @Test
+    @DisplayName("LineMapper 를 지정하면 그것으로 라인을 파싱해야 한다")
+    void should_UseLineMapper_when_Configured() throws Exception {
+        // Given
+        Path file = tempDir.resolve("roaming.csv");
+        Files.writeString(file, HEADER + LINE1 + LINE2, StandardCharsets.UTF_8);
+        RoamingCsvLineMapper delegate = new RoamingCsvLineMapper();
+        List<String> mappedLines = new ArrayList<>();
+        RoamingFileTailer tailer = new RoamingFileTailer();
+        tailer.setLineMapper((line, lineNumber) -> {
+            mappedLines.add(line);
+            return delegate.mapLine(line, lineNumber);
+        });
+        configure(tailer, true, chunk -> written.addAll(chunk.getItems()), 5);
+
+        // When
+        tailer.poll();
+
+        // Then
+        assertThat(mappedLines).hasSize(2);
+        assertThat(written).extracting(RoamingStatusEntity::getDeviceId).containsExactly("DEV001", "DEV002");
+    }
+
+    private RoamingFileTailer createTailer(boolean fromBeginning) throws Exception {
+        return createTailer(fromBeginning, chunk -> written.addAll(chunk.getItems()), 5);
+    }
+
+    private RoamingFileTailer createTailer(boolean fromBeginning, ItemWriter<RoamingStatusEntity> writer,
+                                           int skipLimit) throws Exception {
+        RoamingFileTailer tailer = new RoamingFileTailer();
+        configure(tailer, fromBeginning, writer, skipLimit);
+        return tailer;
+    }
+
+    private RoamingFileTailer createResumableTailer(boolean fromBeginning, int skipLimit) throws Exception {
+        RoamingFileTailer tailer = new RoamingFileTailer();
+        tailer.setOffsetStore(offsetStore);
+        configure(tailer, fromBeginning, chunk -> written.addAll(chunk.getItems()), skipLimit);
+        return tailer;
+    }
+
+    private void configure(RoamingFileTailer tailer, boolean fromBeginning, ItemWriter<RoamingStatusEntity> writer,
+                           int skipLimit) throws Exception {
+        tailer.setDirectory(tempDir);
+        tailer.setProcessor(new RoamingDataProcessor());
+        tailer.setWriter(writer);
+        tailer.setTransactionTemplate(new TransactionTemplate(new ResourcelessTransactionManager()));
+        tailer.setFlushSize(2);
+        tailer.setFlushIntervalMillis(0);
+        tailer.setFromBeginning(fromBeginning);
+        tailer.setRetryLimit(1);
+        tailer.setSkipLimit(skipLimit);
+        tailer.afterPropertiesSet();
+    }
+
+    private ItemWriter<RoamingStatusEntity> rejecting(String deviceId) {
+        return chunk -> {
+            if (chunk.getItems().stream().anyMatch(entity -> deviceId.equals(entity.getDeviceId()))) {
+                throw new DataIntegrityViolationException("rejected " + deviceId);
+            }
+            written.addAll(chunk.getItems());
+        };
+    }
+
+    private void append(Path file, String content) throws Exception {
+        Files.writeString(file, content, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+}
@@ -11,9 +11,16 @@ import org.springframework.batch.core.scope.context.StepContext;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -98,4 +105,46 @@ class FileArchiveTaskletTest {
         // Then
         assertEquals(RepeatStatus.FINISHED, result);
     }
-}
\ No newline at end of file
+
+    @Test
+    void 압축_입력_파일_분할() throws Exception {
+        // Given
+        Path inputDir = tempDir.resolve("input");
+        Files.createDirectories(inputDir);
+        Path compressed = inputDir.resolve("roaming.csv.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+            out.write(("userId,deviceId,location,timestamp,status\n"
+                    + "1001,DEV001,Seoul,2024-01-15T10:30:00,CONNECTED\n"
+                    + "1002,DEV002,Busan,2024-01-15T10:35:00,CONNECTED\n"
+                    + "1003,DEV003,Incheon,2024-01-15T10:40:00,DISCONNECTED\n").getBytes(StandardCharsets.UTF_8));
+        }
+
+        ReflectionTestUtils.setField(fileArchiveTasklet, "sourceDirectory", inputDir.toString());
+        ReflectionTestUtils.setField(fileArchiveTasklet, "backupDirectory", tempDir.resolve("backup").toString());
+        ReflectionTestUtils.setField(fileArchiveTasklet, "filePattern", "*.csv");
+        ReflectionTestUtils.setField(fileArchiveTasklet, "inputLocation", inputDir.toString());
+        ReflectionTestUtils.setField(fileArchiveTasklet, "splitLines", 2);
+
+        // When
+        RepeatStatus result = fileArchiveTasklet.execute(stepContribution, chunkContext);
+
+        // Then
+        assertEquals(RepeatStatus.FINISHED, result);
+        assertFalse(Files.exists(compressed)); // 원본 압축 파일은 백업 디렉터리로 이동됨
+
+        Path part0 = inputDir.resolve("roaming.part-00000.csv.gz");
+        Path part1 = inputDir.resolve("roaming.part-00001.csv.gz");
+        assertEquals(List.of("userId,deviceId,location,timestamp,status",
+                "1001,DEV001,Seoul,2024-01-15T10:30:00,CONNECTED",
+                "1002,DEV002,Busan,2024-01-15T10:35:00,CONNECTED"), readGzipLines(part0));
+        assertEquals(List.of("userId,deviceId,location,timestamp,status",
+                "1003,DEV003,Incheon,2024-01-15T10:40:00,DISCONNECTED"), readGzipLines(part1));
+    }
+
+    private List<String> readGzipLines(Path file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.roaming.job.tasklet;
+
+import com.roaming.support.PostgresTestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@Testcontainers(disabledWithoutDocker = true)
+class PartitionMaintenanceTaskletDatabaseTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PartitionMaintenanceTasklet tasklet;
+    private ChunkContext chunkContext;
+    private ExecutionContext executionContext;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = PostgresTestDatabase.dataSource();
+        PostgresTestDatabase.truncate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        tasklet = new PartitionMaintenanceTasklet(dataSource);
+        ReflectionTestUtils.setField(tasklet, "premakeMonths", 0);
+
+        executionContext = new ExecutionContext();
+        StepExecution stepExecution = mock(StepExecution.class);
+        StepContext stepContext = mock(StepContext.class);
+        chunkContext = mock(ChunkContext.class);
+        when(chunkContext.getStepContext()).thenReturn(stepContext);
+        when(stepContext.getStepExecution()).thenReturn(stepExecution);
+        when(stepExecution.getExecutionContext()).thenReturn(executionContext);
+    }
+
+    @Test
+    @DisplayName("default 파티션에 쌓인 과거 데이터는 해당 월의 파티션을 만들어 옮겨야 한다")
+    void should_MoveBackfilledRows_when_DefaultPartitionHasPastMonths() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(tasklet, "retentionMonths", 0);
+        insert("DEV001", LocalDateTime.of(2019, 3, 10, 9, 0));
+        insert("DEV002", LocalDateTime.of(2019, 4, 20, 9, 0));
+
+        // When
+        tasklet.execute(mock(StepContribution.class), chunkContext);
+
+        // Then
+        assertThat(count("roaming_status_default")).isZero();
+        assertThat(count("roaming_status_201903")).isEqualTo(1L);
+        assertThat(count("roaming_status_201904")).isEqualTo(1L);
+        assertThat(count("roaming_status")).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("default 파티션의 보존 기간이 지난 row 는 삭제하고 파티션을 만들지 않아야 한다")
+    void should_DeleteExpiredRows_when_DefaultPartitionHasExpiredData() throws Exception {
+        // Given
+        ReflectionTestUtils.setField(tasklet, "retentionMonths", 12);
+        insert("DEV001", LocalDateTime.of(2018, 5, 10, 9, 0));
+
+        // When
+        tasklet.execute(mock(StepContribution.class), chunkContext);
+
+        // Then
+        assertThat(count("roaming_status")).isZero();
+        assertThat(executionContext.getInt("purgedDefaultRowCount")).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT to_regclass('roaming_status_201805') IS NULL", Boolean.class))
+                .isTrue();
+    }
+
+    private void insert(String deviceId, LocalDateTime timestamp) {
+        jdbcTemplate.update("INSERT INTO roaming_status (user_id, device_id, location, timestamp, status) "
+                + "VALUES (1001, ?, 'Seoul', ?, 'CONNECTED')", deviceId, timestamp);
+    }
+
+    private long count(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table, Long.class);
+    }
+}
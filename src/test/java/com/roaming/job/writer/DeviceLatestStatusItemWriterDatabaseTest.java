@@ -0,0 +1,132 @@
+package com.roaming.job.writer;
+
+import com.roaming.domain.RoamingStatusEntity;
+import com.roaming.support.PostgresTestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+class DeviceLatestStatusItemWriterDatabaseTest {
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = PostgresTestDatabase.dataSource();
+        PostgresTestDatabase.truncate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new JdbcTransactionManager(dataSource));
+    }
+
+    @Test
+    @DisplayName("더 이른 변경이 나중에 쓰여도 기기별 최신 상태가 남아야 한다")
+    void should_KeepLatestStatus_when_OlderChunkWrittenLater() {
+        // Given
+        DeviceLatestStatusItemWriter writer = createWriter();
+        write(writer, Chunk.of(entity("DEV001", 30, RoamingStatusEntity.RoamingStatus.ROAMING)));
+
+        // When
+        write(createWriter(), Chunk.of(
+                entity("DEV001", 10, RoamingStatusEntity.RoamingStatus.CONNECTED),
+                entity("DEV002", 10, RoamingStatusEntity.RoamingStatus.CONNECTED)));
+
+        // Then
+        assertThat(status("DEV001")).isEqualTo("ROAMING");
+        assertThat(status("DEV002")).isEqualTo("CONNECTED");
+    }
+
+    @Test
+    @DisplayName("같은 입력으로 다시 실행해도 기기마다 row 하나만 남아야 한다")
+    void should_KeepOneRowPerDevice_when_Rerun() {
+        // Given
+        Chunk<RoamingStatusEntity> chunk = Chunk.of(
+                entity("DEV001", 10, RoamingStatusEntity.RoamingStatus.CONNECTED),
+                entity("DEV001", 20, RoamingStatusEntity.RoamingStatus.ROAMING),
+                entity("DEV002", 15, RoamingStatusEntity.RoamingStatus.DISCONNECTED));
+        write(createWriter(), chunk);
+
+        // When
+        write(createWriter(), chunk);
+
+        // Then
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM device_latest_status", Long.class))
+                .isEqualTo(2L);
+        assertThat(status("DEV001")).isEqualTo("ROAMING");
+    }
+
+    @Test
+    @DisplayName("두 트랜잭션이 같은 기기들을 반대 순서로 써도 deadlock 없이 끝나야 한다")
+    void should_NotDeadlock_when_ChunksOverlapInReverseOrder() throws Exception {
+        // Given
+        List<RoamingStatusEntity> ascending = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ascending.add(entity("DEV%03d".formatted(i), i % 60, RoamingStatusEntity.RoamingStatus.CONNECTED));
+        }
+        List<RoamingStatusEntity> descending = new ArrayList<>(ascending);
+        Collections.reverse(descending);
+        write(createWriter(), new Chunk<>(ascending));
+
+        // When
+        CompletableFuture<Void> first = CompletableFuture.runAsync(
+                () -> write(createWriter(), new Chunk<>(ascending)));
+        CompletableFuture<Void> second = CompletableFuture.runAsync(
+                () -> write(createWriter(), new Chunk<>(descending)));
+
+        // Then
+        CompletableFuture.allOf(first, second).get(30, TimeUnit.SECONDS);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM device_latest_status", Long.class))
+                .isEqualTo(200L);
+    }
+
+    private DeviceLatestStatusItemWriter createWriter() {
+        DeviceLatestStatusItemWriter writer = new DeviceLatestStatusItemWriter(100);
+        writer.setDataSource(dataSource);
+        writer.afterPropertiesSet();
+        return writer;
+    }
+
+    private String status(String deviceId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT status FROM device_latest_status WHERE device_id = ?", String.class, deviceId);
+    }
+
+    private void write(DeviceLatestStatusItemWriter writer, Chunk<RoamingStatusEntity> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                writer.write(chunk);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private RoamingStatusEntity entity(String deviceId, int minute, RoamingStatusEntity.RoamingStatus status) {
+        return RoamingStatusEntity.builder()
+                .userId(1001L)
+                .deviceId(deviceId)
+                .location("Seoul")
+                .timestamp(LocalDateTime.of(2024, 1, 15, 10, minute, 0))
+                .status(status)
+                .build();
+    }
+}
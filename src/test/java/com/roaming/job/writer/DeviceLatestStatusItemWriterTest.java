@@ -0,0 +1,77 @@
+package com.roaming.job.writer;
+
+import com.roaming.domain.RoamingStatusEntity;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeviceLatestStatusItemWriterTest {
+
+    private final DeviceLatestStatusItemWriter writer = new DeviceLatestStatusItemWriter(100);
+
+    @Test
+    @DisplayName("chunk 안에서 같은 기기의 변경은 timestamp 가 가장 늦은 하나만 남겨야 한다")
+    void should_KeepLatestPerDevice_when_ChunkHasSeveralUpdatesForDevice() {
+        // Given
+        Chunk<RoamingStatusEntity> chunk = Chunk.of(
+                entity("DEV001", 10, RoamingStatusEntity.RoamingStatus.CONNECTED),
+                entity("DEV002", 11, RoamingStatusEntity.RoamingStatus.CONNECTED),
+                entity("DEV001", 30, RoamingStatusEntity.RoamingStatus.ROAMING),
+                entity("DEV001", 20, RoamingStatusEntity.RoamingStatus.DISCONNECTED));
+
+        // When
+        Map<String, RoamingStatusEntity> latest = writer.collapse(chunk);
+
+        // Then
+        assertThat(latest).containsOnlyKeys("DEV001", "DEV002");
+        assertThat(latest.get("DEV001").getStatus()).isEqualTo(RoamingStatusEntity.RoamingStatus.ROAMING);
+    }
+
+    @Test
+    @DisplayName("입력 순서와 관계없이 device_id 순서로 써야 한다")
+    void should_SortByDeviceId_when_ChunkIsUnordered() {
+        // Given
+        Chunk<RoamingStatusEntity> chunk = Chunk.of(
+                entity("DEV003", 10, RoamingStatusEntity.RoamingStatus.CONNECTED),
+                entity("DEV001", 11, RoamingStatusEntity.RoamingStatus.CONNECTED),
+                entity("DEV002", 12, RoamingStatusEntity.RoamingStatus.ROAMING));
+
+        // When
+        Map<String, RoamingStatusEntity> latest = writer.collapse(chunk);
+
+        // Then
+        assertThat(latest.keySet()).containsExactly("DEV001", "DEV002", "DEV003");
+    }
+
+    @Test
+    @DisplayName("이미 더 최신 상태가 커밋된 기기의 변경은 쓰지 않아야 한다")
+    void should_SkipStaleUpdate_when_NewerStatusCommitted() {
+        // Given
+        writer.remember(List.of(entity("DEV001", 30, RoamingStatusEntity.RoamingStatus.ROAMING)));
+        Chunk<RoamingStatusEntity> chunk = Chunk.of(
+                entity("DEV001", 20, RoamingStatusEntity.RoamingStatus.CONNECTED),
+                entity("DEV002", 20, RoamingStatusEntity.RoamingStatus.CONNECTED));
+
+        // When
+        Map<String, RoamingStatusEntity> latest = writer.collapse(chunk);
+
+        // Then
+        assertThat(latest).containsOnlyKeys("DEV002");
+    }
+
+    private RoamingStatusEntity entity(String deviceId, int minute, RoamingStatusEntity.RoamingStatus status) {
+        return RoamingStatusEntity.builder()
+                .userId(1001L)
+                .deviceId(deviceId)
+                .location("Seoul")
+                .timestamp(LocalDateTime.of(2024, 1, 15, 10, minute, 0))
+                .status(status)
+                .build();
+    }
+}
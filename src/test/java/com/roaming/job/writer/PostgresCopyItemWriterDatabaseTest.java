@@ -0,0 +1,113 @@
+package com.roaming.job.writer;
+
+import com.roaming.domain.RoamingStatusEntity;
+import com.roaming.support.PostgresTestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Testcontainers(disabledWithoutDocker = true)
+class PostgresCopyItemWriterDatabaseTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private PostgresCopyItemWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = PostgresTestDatabase.dataSource();
+        PostgresTestDatabase.truncate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new JdbcTransactionManager(dataSource));
+
+        JdbcBatchItemWriter<RoamingStatusEntity> rowWriter = new JdbcBatchItemWriterBuilder<RoamingStatusEntity>()
+                .dataSource(dataSource)
+                .sql(RoamingStatusPreparedStatementSetter.INSERT_SQL)
+                .itemPreparedStatementSetter(new RoamingStatusPreparedStatementSetter())
+                .build();
+        rowWriter.afterPropertiesSet();
+
+        writer = new PostgresCopyItemWriter();
+        writer.setDataSource(dataSource);
+        writer.setRowWriter(rowWriter);
+        writer.afterPropertiesSet();
+    }
+
+    @Test
+    @DisplayName("COPY 로 쓴 chunk 와 item 하나인 chunk 가 같은 값으로 저장되어야 한다")
+    void should_StoreSameValues_when_WrittenByCopyAndSingleRowInsert() {
+        // Given
+        Chunk<RoamingStatusEntity> copyChunk = Chunk.of(
+                entity("DEV001", "Seoul, KR", 30),
+                entity("DEV002", null, 31),
+                entity("DEV003", "", 32));
+        Chunk<RoamingStatusEntity> singleChunk = Chunk.of(entity("DEV004", "Seoul, KR", 33));
+
+        // When
+        write(writer, copyChunk);
+        write(writer, singleChunk);
+
+        // Then
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT device_id, location, status, created_at FROM roaming_status ORDER BY device_id");
+        assertThat(rows).extracting(row -> row.get("device_id"))
+                .containsExactly("DEV001", "DEV002", "DEV003", "DEV004");
+        assertThat(rows).extracting(row -> row.get("location"))
+                .containsExactly("Seoul, KR", null, "", "Seoul, KR");
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row.get("status")).isEqualTo("CONNECTED");
+            assertThat(row.get("created_at")).isNotNull();
+        });
+    }
+
+    @Test
+    @DisplayName("같은 chunk 를 다시 적재하면 유니크 인덱스로 실패하고 중복 row 가 생기지 않아야 한다")
+    void should_RejectDuplicates_when_ChunkCopiedAgain() {
+        // Given
+        Chunk<RoamingStatusEntity> chunk = Chunk.of(entity("DEV001", "Seoul", 30), entity("DEV002", "Busan", 31));
+        write(writer, chunk);
+
+        // When & Then
+        assertThatThrownBy(() -> write(writer, chunk)).isInstanceOf(DuplicateKeyException.class);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM roaming_status", Long.class)).isEqualTo(2L);
+    }
+
+    private void write(ItemWriter<RoamingStatusEntity> itemWriter, Chunk<RoamingStatusEntity> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                itemWriter.write(chunk);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private RoamingStatusEntity entity(String deviceId, String location, int minute) {
+        return RoamingStatusEntity.builder()
+                .userId(1001L)
+                .deviceId(deviceId)
+                .location(location)
+                .timestamp(LocalDateTime.of(2024, 1, 15, 10, minute, 0))
+                .status(RoamingStatusEntity.RoamingStatus.CONNECTED)
+                .build();
+    }
+}
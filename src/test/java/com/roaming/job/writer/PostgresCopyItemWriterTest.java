@@ -0,0 +1,93 @@
+package com.roaming.job.writer;
+
+import com.roaming.domain.RoamingStatusEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class PostgresCopyItemWriterTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 15, 12, 0, 0);
+
+    private DataSource dataSource;
+    private ItemWriter<RoamingStatusEntity> rowWriter;
+    private PostgresCopyItemWriter writer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        dataSource = mock(DataSource.class);
+        rowWriter = mock(ItemWriter.class);
+        writer = new PostgresCopyItemWriter();
+        writer.setDataSource(dataSource);
+        writer.setRowWriter(rowWriter);
+        writer.afterPropertiesSet();
+    }
+
+    @Test
+    @DisplayName("엔티티를 COPY CSV 형식의 한 줄로 인코딩해야 한다")
+    void should_EncodeCsvRow_when_PlainValues() {
+        // Given
+        RoamingStatusEntity entity = entity("DEV001", "Seoul");
+        StringBuilder out = new StringBuilder();
+
+        // When
+        PostgresCopyItemWriter.appendRow(out, entity, CREATED_AT);
+
+        // Then
+        assertThat(out.toString())
+                .isEqualTo("1001,DEV001,Seoul,2024-01-15T10:30,CONNECTED,2024-01-15T12:00\n");
+    }
+
+    @Test
+    @DisplayName("구분자와 따옴표가 포함된 값은 따옴표로 감싸고, null 과 빈 문자열을 구분해야 한다")
+    void should_QuoteSpecialCharacters_when_ValueContainsDelimiter() {
+        // Given
+        StringBuilder out = new StringBuilder();
+
+        // When
+        PostgresCopyItemWriter.appendRow(out, entity("DEV\"1\"", "Seoul, KR"), CREATED_AT);
+        PostgresCopyItemWriter.appendRow(out, entity("DEV002", null), CREATED_AT);
+        PostgresCopyItemWriter.appendRow(out, entity("DEV003", ""), CREATED_AT);
+
+        // Then
+        assertThat(out.toString().split("\n")).containsExactly(
+                "1001,\"DEV\"\"1\"\"\",\"Seoul, KR\",2024-01-15T10:30,CONNECTED,2024-01-15T12:00",
+                "1001,DEV002,,2024-01-15T10:30,CONNECTED,2024-01-15T12:00",
+                "1001,DEV003,\"\",2024-01-15T10:30,CONNECTED,2024-01-15T12:00");
+    }
+
+    @Test
+    @DisplayName("item 이 하나인 chunk 는 scan 단계인지와 관계없이 row 단위 Writer 로 위임해야 한다")
+    void should_DelegateToRowWriter_when_SingleItemChunk() throws Exception {
+        // Given
+        Chunk<RoamingStatusEntity> chunk = new Chunk<>(entity("DEV001", "Seoul"));
+
+        // When
+        writer.write(chunk);
+
+        // Then
+        verify(rowWriter).write(chunk);
+        verifyNoInteractions(dataSource);
+    }
+
+    private RoamingStatusEntity entity(String deviceId, String location) {
+        return RoamingStatusEntity.builder()
+                .userId(1001L)
+                .deviceId(deviceId)
+                .location(location)
+                .timestamp(LocalDateTime.of(2024, 1, 15, 10, 30, 0))
+                .status(RoamingStatusEntity.RoamingStatus.CONNECTED)
+                .build();
+    }
+}
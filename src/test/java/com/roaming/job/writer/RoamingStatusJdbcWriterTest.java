@@ -0,0 +1,122 @@
+package com.roaming.job.writer;
+
+import com.roaming.domain.RoamingStatusEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * BatchConfig 의 jdbc Writer 와 같은 설정(INSERT_SQL + RoamingStatusPreparedStatementSetter)으로 H2 에 실제로 쓰고 row 를 확인한다.
+ */
+class RoamingStatusJdbcWriterTest {
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private JdbcBatchItemWriter<RoamingStatusEntity> writer;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("/db/roaming-status-h2.sql")
+                .build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new JdbcTransactionManager(dataSource));
+
+        writer = new JdbcBatchItemWriterBuilder<RoamingStatusEntity>()
+                .dataSource(dataSource)
+                .sql(RoamingStatusPreparedStatementSetter.INSERT_SQL)
+                .itemPreparedStatementSetter(new RoamingStatusPreparedStatementSetter())
+                .build();
+        writer.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    @DisplayName("chunk 의 모든 item 을 컬럼 값 그대로 한 row 씩 저장해야 한다")
+    void should_InsertRows_when_ChunkWritten() {
+        // Given
+        Chunk<RoamingStatusEntity> chunk = Chunk.of(
+                entity("DEV001", "Seoul", 30, RoamingStatusEntity.RoamingStatus.CONNECTED),
+                entity("DEV002", null, 35, RoamingStatusEntity.RoamingStatus.ROAMING));
+
+        // When
+        write(chunk);
+
+        // Then
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT * FROM roaming_status ORDER BY device_id");
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0)).containsEntry("USER_ID", 1001L)
+                .containsEntry("DEVICE_ID", "DEV001")
+                .containsEntry("LOCATION", "Seoul")
+                .containsEntry("STATUS", "CONNECTED");
+        assertThat(rows.get(1).get("LOCATION")).isNull();
+        assertThat(rows.get(1).get("STATUS")).isEqualTo("ROAMING");
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row.get("ID")).isNotNull();
+            assertThat(row.get("CREATED_AT")).isNotNull();
+        });
+    }
+
+    @Test
+    @DisplayName("이미 저장된 (device_id, timestamp) 를 다시 쓰면 실패하고 row 가 늘지 않아야 한다")
+    void should_RejectRerun_when_SameRowsWrittenAgain() {
+        // Given
+        Chunk<RoamingStatusEntity> chunk = Chunk.of(
+                entity("DEV001", "Seoul", 30, RoamingStatusEntity.RoamingStatus.CONNECTED),
+                entity("DEV002", "Busan", 35, RoamingStatusEntity.RoamingStatus.ROAMING));
+        write(chunk);
+
+        // When & Then
+        assertThatThrownBy(() -> write(chunk)).isInstanceOf(DuplicateKeyException.class);
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM roaming_status", Long.class)).isEqualTo(2L);
+    }
+
+    private void write(Chunk<RoamingStatusEntity> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                writer.write(chunk);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private RoamingStatusEntity entity(String deviceId, String location, int minute,
+                                       RoamingStatusEntity.RoamingStatus status) {
+        return RoamingStatusEntity.builder()
+                .userId(1001L)
+                .deviceId(deviceId)
+                .location(location)
+                .timestamp(LocalDateTime.of(2024, 1, 15, 10, minute, 0))
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.roaming.job.writer;
+
+import com.roaming.domain.RoamingStatusEntity;
+import com.roaming.support.PostgresTestDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Testcontainers(disabledWithoutDocker = true)
+class RoamingStatusUpsertItemWriterDatabaseTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private RoamingStatusUpsertItemWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        DataSource dataSource = PostgresTestDatabase.dataSource();
+        PostgresTestDatabase.truncate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new JdbcTransactionManager(dataSource));
+
+        writer = new RoamingStatusUpsertItemWriter();
+        writer.setDataSource(dataSource);
+        writer.afterPropertiesSet();
+    }
+
+    @Test
+    @DisplayName("같은 입력을 다시 쓰면 중복 row 없이 기존 row 를 갱신해야 한다")
+    void should_UpdateInPlace_when_SameRowsWrittenAgain() {
+        // Given
+        write(Chunk.of(
+                entity("DEV001", 30, RoamingStatusEntity.RoamingStatus.CONNECTED),
+                entity("DEV002", 31, RoamingStatusEntity.RoamingStatus.CONNECTED)));
+
+        // When
+        write(Chunk.of(
+                entity("DEV001", 30, RoamingStatusEntity.RoamingStatus.ROAMING),
+                entity("DEV002", 31, RoamingStatusEntity.RoamingStatus.CONNECTED),
+                entity("DEV003", 32, RoamingStatusEntity.RoamingStatus.CONNECTED)));
+
+        // Then
+        assertThat(count()).isEqualTo(3L);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT status FROM roaming_status WHERE device_id = 'DEV001'", String.class)).isEqualTo("ROAMING");
+    }
+
+    @Test
+    @DisplayName("chunk 안에 같은 (device_id, timestamp) 가 있으면 마지막 값 하나만 저장해야 한다")
+    void should_KeepLastValue_when_ChunkHasDuplicateKeys() {
+        // When
+        write(Chunk.of(
+                entity("DEV001", 30, RoamingStatusEntity.RoamingStatus.CONNECTED),
+                entity("DEV001", 30, RoamingStatusEntity.RoamingStatus.DISCONNECTED)));
+
+        // Then
+        assertThat(count()).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject("SELECT status FROM roaming_status", String.class))
+                .isEqualTo("DISCONNECTED");
+    }
+
+    private long count() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM roaming_status", Long.class);
+    }
+
+    private void write(Chunk<RoamingStatusEntity> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try {
+                writer.write(chunk);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private RoamingStatusEntity entity(String deviceId, int minute, RoamingStatusEntity.RoamingStatus status) {
+        return RoamingStatusEntity.builder()
+                .userId(1001L)
+                .deviceId(deviceId)
+                .location("Seoul")
+                .timestamp(LocalDateTime.of(2024, 1, 15, 10, minute, 0))
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,191 @@
+package com.roaming.scale;
+
+import com.roaming.support.RoamingDataGenerator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 생성한 대용량 CSV 로 chunkSyncJob, partitioningSyncJob, fullSyncJob 을 H2 에서 실행하고 처리량과 메모리를 출력한다.
+ * 일반 test 태스크에서는 제외되며 ./gradlew scaleTest 로 실행한다.
+ *
+ * <p>-Pscale.rows, -Pscale.files, -Pscale.devices, -Pscale.skew, -Pscale.bad-rate 로 입력 크기와 분포를 바꿀 수 있다.
+ * H2 에서 실행하므로 기본 Writer(jpa)를 사용한다.
+ */
+@Tag("scale")
+@SpringBootTest(properties = {
+    "spring.batch.job.enabled=false",
+    "spring.datasource.url=jdbc:h2:mem:scaledb;DB_CLOSE_DELAY=-1",
+    "spring.datasource.driver-class-name=org.h2.Driver",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+    "spring.jpa.show-sql=false",
+    "logging.level.com.roaming=INFO",
+    "batch.latest-status.enabled=false",
+    "batch.skip-limit=2147483647"
+})
+class SyncJobScaleTest {
+
+    private static final long ROWS = Long.getLong("scale.rows", 200_000);
+    private static final int FILES = Integer.getInteger("scale.files", 4);
+    private static final int DEVICES = Integer.getInteger("scale.devices", 10_000);
+    private static final double SKEW = Double.parseDouble(System.getProperty("scale.skew", "1.0"));
+    private static final double BAD_RATE = Double.parseDouble(System.getProperty("scale.bad-rate", "0.001"));
+    private static final int CHUNK_SIZE = Integer.getInteger("scale.chunk-size", 1000);
+
+    private static final Path WORK_DIR = createWorkDir();
+    private static final Path INPUT_DIR = WORK_DIR.resolve("input");
+
+    private static long badRecords;
+
+    @Autowired
+    private JobLauncher jobLauncher;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void inputProperties(DynamicPropertyRegistry registry) {
+        registry.add("batch.input.location", INPUT_DIR::toString);
+        registry.add("batch.archive.source-directory", INPUT_DIR::toString);
+        registry.add("batch.archive.backup-directory", () -> WORK_DIR.resolve("backup").toString());
+    }
+
+    @BeforeAll
+    static void generateInput() throws IOException {
+        long rowsPerFile = ROWS / FILES;
+        // 파일마다 timestamp 구간을 나눠 파일 사이에서도 (device_id, timestamp) 가 겹치지 않게 한다
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < FILES; i++) {
+            RoamingDataGenerator.Result result = new RoamingDataGenerator()
+                    .rows(i == FILES - 1 ? ROWS - rowsPerFile * i : rowsPerFile)
+                    .devices(DEVICES)
+                    .skew(SKEW)
+                    .badRecordRate(BAD_RATE)
+                    .seed(i)
+                    .startTime(base.plusSeconds(rowsPerFile * i))
+                    .write(INPUT_DIR.resolve(String.format("roaming-%02d.csv", i)));
+            badRecords += result.badRecords();
+        }
+        System.out.printf("[scale] input: %,d rows in %d files (%,d bad), devices=%d, skew=%.2f%n",
+                ROWS, FILES, badRecords, DEVICES, SKEW);
+    }
+
+    @BeforeEach
+    void clearTable() {
+        jdbcTemplate.execute("DELETE FROM roaming_status");
+    }
+
+    @Test
+    @DisplayName("chunkSyncJob 이 모든 row 를 적재해야 한다")
+    void should_LoadAllRows_when_ChunkSyncJobRunsAtScale() throws Exception {
+        // When
+        JobExecution execution = run("chunkSyncJob");
+
+        // Then
+        assertThat(execution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(countRows()).isEqualTo(ROWS);
+    }
+
+    @Test
+    @DisplayName("partitioningSyncJob 이 잘못된 row 만 skip 하고 나머지를 적재해야 한다")
+    void should_SkipOnlyBadRows_when_PartitioningSyncJobRunsAtScale() throws Exception {
+        // When
+        JobExecution execution = run("partitioningSyncJob");
+
+        // Then
+        assertThat(execution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(countRows()).isEqualTo(ROWS - badRecords);
+    }
+
+    @Test
+    @DisplayName("fullSyncJob 이 아카이브부터 알림까지 완료하고 잘못된 row 를 제외하고 적재해야 한다")
+    void should_CompleteAllSteps_when_FullSyncJobRunsAtScale() throws Exception {
+        // When
+        JobExecution execution = run("fullSyncJob");
+
+        // Then
+        assertThat(execution.getStatus()).isEqualTo(BatchStatus.COMPLETED);
+        assertThat(countRows()).isEqualTo(ROWS - badRecords);
+    }
+
+    private JobExecution run(String jobName) throws Exception {
+        Job job = applicationContext.getBean(jobName, Job.class);
+        JobParameters parameters = new JobParametersBuilder()
+                .addLong("chunkSize", (long) CHUNK_SIZE)
+                .addLong("run.id", System.nanoTime())
+                .toJobParameters();
+
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long gcCountBefore = gcCount();
+        long gcTimeBefore = gcTime();
+        long started = System.nanoTime();
+
+        JobExecution execution = jobLauncher.run(job, parameters);
+
+        double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+        long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        long written = countRows();
+        System.out.printf("[scale] %s: %s, %,d rows written in %.2f s (%,.0f rows/s), peak heap %,d MB, GC %d times / %d ms%n",
+                jobName, execution.getStatus(), written, seconds, written / seconds,
+                peakHeap / (1024 * 1024), gcCount() - gcCountBefore, gcTime() - gcTimeBefore);
+        return execution;
+    }
+
+    private long countRows() {
+        Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM roaming_status", Long.class);
+        return count != null ? count : 0;
+    }
+
+    private static long gcCount() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionCount).sum();
+    }
+
+    private static long gcTime() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime).sum();
+    }
+
+    private static Path createWorkDir() {
+        try {
+            return Files.createTempDirectory("roaming-scale");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
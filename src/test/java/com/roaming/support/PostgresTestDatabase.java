@@ -0,0 +1,51 @@
+package com.roaming.support;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * PostgreSQL 전용 Writer 를 검증하기 위한 테스트 DB. Testcontainers 로 PostgreSQL 을 한 번 띄우고
+ * 운영과 같은 Flyway 마이그레이션(db/migration/postgresql)을 적용한 뒤 테스트 클래스들이 함께 사용한다.
+ *
+ * <p>사용하는 테스트는 {@code @Testcontainers(disabledWithoutDocker = true)} 를 붙여 Docker 가 없으면 건너뛴다.
+ */
+public final class PostgresTestDatabase {
+
+    private static PostgreSQLContainer<?> container;
+    private static DataSource dataSource;
+
+    private PostgresTestDatabase() {
+    }
+
+    public static synchronized DataSource dataSource() {
+        if (dataSource == null) {
+            container = new PostgreSQLContainer<>("postgres:15");
+            container.start();
+
+            Flyway.configure()
+                    .dataSource(container.getJdbcUrl(), container.getUsername(), container.getPassword())
+                    .locations("classpath:db/migration/postgresql")
+                    .placeholders(Map.of("id_allocation_size", "500"))
+                    .load()
+                    .migrate();
+
+            // 운영 설정과 같이 batch INSERT 를 multi-row INSERT 로 재작성한다
+            String url = container.getJdbcUrl() + (container.getJdbcUrl().contains("?") ? "&" : "?")
+                    + "reWriteBatchedInserts=true";
+            dataSource = new DriverManagerDataSource(url, container.getUsername(), container.getPassword());
+        }
+        return dataSource;
+    }
+
+    /**
+     * 이전 테스트가 쓴 row 를 지운다.
+     */
+    public static void truncate() {
+        new JdbcTemplate(dataSource()).execute("TRUNCATE roaming_status, device_latest_status");
+    }
+}
@@ -0,0 +1,170 @@
+package com.roaming.support;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 대용량 테스트용 로밍 CSV 를 만든다. 같은 설정과 seed 면 항상 같은 파일이 만들어진다.
+ *
+ * <p>기기는 순위 k 가 1/k^skew 에 비례하는 확률로 선택되므로 skew 가 클수록 소수의 기기에 데이터가 몰린다 (0 이면 균등).
+ * badRecordRate 비율의 row 는 RoamingDataProcessor 가 거부하는 기기 ID(DEV003 포함)를 가진다.
+ * 정상 기기 ID(DEVICE-0000001)는 DEV003/DEV007 을 포함하지 않으므로 의도하지 않은 예외나 지연이 없다.
+ * timestamp 는 startTime 부터 row 마다 1초씩 증가하므로 한 파일 안에서는 (device_id, timestamp) 가 겹치지 않는다.
+ * 여러 파일을 만들 때는 앞 파일들의 timestamp 구간 뒤로 startTime 을 지정해야 파일 사이에서도 겹치지 않는다.
+ *
+ * <pre>
+ * ./gradlew generateRoamingData -Poutput=build/data/roaming.csv -Prows=10000000 -Pskew=1.1 -PbadRecordRate=0.0001
+ * </pre>
+ */
+public class RoamingDataGenerator {
+
+    private static final String HEADER = "userId,deviceId,location,timestamp,status";
+    private static final String[] LOCATIONS = {
+            "Seoul", "Busan", "Incheon", "Daegu", "Daejeon", "Gwangju", "Tokyo", "Osaka", "Bangkok", "New York"
+    };
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final String[] STATUSES = {"CONNECTED", "DISCONNECTED", "ROAMING"};
+
+    private long rows = 1_000_000;
+    private int devices = 10_000;
+    private double skew = 1.0;
+    private double badRecordRate;
+    private long seed = 42;
+    private LocalDateTime startTime = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    public record Result(Path file, long rows, long badRecords) {
+    }
+
+    public RoamingDataGenerator rows(long rows) {
+        this.rows = rows;
+        return this;
+    }
+
+    public RoamingDataGenerator devices(int devices) {
+        this.devices = devices;
+        return this;
+    }
+
+    public RoamingDataGenerator skew(double skew) {
+        this.skew = skew;
+        return this;
+    }
+
+    public RoamingDataGenerator badRecordRate(double badRecordRate) {
+        this.badRecordRate = badRecordRate;
+        return this;
+    }
+
+    public RoamingDataGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    public RoamingDataGenerator startTime(LocalDateTime startTime) {
+        this.startTime = startTime;
+        return this;
+    }
+
+    public Result write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] cumulative = cumulativeWeights();
+        long badRecords = 0;
+        StringBuilder line = new StringBuilder(96);
+
+        try (BufferedWriter out = new BufferedWriter(
+                new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8), 1 << 20)) {
+            out.write(HEADER);
+            out.write('\n');
+
+            for (long i = 0; i < rows; i++) {
+                int device = pickDevice(random, cumulative);
+                boolean bad = random.nextDouble() < badRecordRate;
+                line.setLength(0);
+                line.append(1000 + device / 3).append(',');
+                if (bad) {
+                    line.append("DEV003-BAD-").append(device);
+                    badRecords++;
+                } else {
+                    appendDeviceId(line, device);
+                }
+                line.append(',').append(LOCATIONS[random.nextInt(LOCATIONS.length)]).append(',');
+                TIMESTAMP.formatTo(startTime.plusSeconds(i), line);
+                line.append(',').append(STATUSES[random.nextInt(STATUSES.length)]).append('\n');
+                out.append(line);
+            }
+        }
+        return new Result(file, rows, badRecords);
+    }
+
+    /**
+     * 기기 순위별 누적 가중치. 순위 k(1부터)의 가중치는 1/k^skew 이다.
+     */
+    private double[] cumulativeWeights() {
+        double[] cumulative = new double[devices];
+        double total = 0;
+        for (int k = 0; k < devices; k++) {
+            total += 1.0 / Math.pow(k + 1, skew);
+            cumulative[k] = total;
+        }
+        return cumulative;
+    }
+
+    private static int pickDevice(SplittableRandom random, double[] cumulative) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, target);
+        return Math.min(index < 0 ? -index - 1 : index, cumulative.length - 1);
+    }
+
+    private static void appendDeviceId(StringBuilder line, int device) {
+        String number = Integer.toString(device + 1);
+        line.append("DEVICE-");
+        for (int pad = number.length(); pad < 7; pad++) {
+            line.append('0');
+        }
+        line.append(number);
+    }
+
+    /**
+     * 인자: 출력 파일 경로, 그리고 rows=, devices=, skew=, badRecordRate=, seed= 형식의 옵션.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.err.println("Usage: RoamingDataGenerator <output.csv> [rows=N] [devices=N] [skew=S] [badRecordRate=R] [seed=N]");
+            System.exit(1);
+        }
+
+        RoamingDataGenerator generator = new RoamingDataGenerator();
+        for (int i = 1; i < args.length; i++) {
+            String[] option = args[i].split("=", 2);
+            if (option.length != 2 || option[1].isBlank()) {
+                continue;
+            }
+            switch (option[0]) {
+                case "rows" -> generator.rows(Long.parseLong(option[1]));
+                case "devices" -> generator.devices(Integer.parseInt(option[1]));
+                case "skew" -> generator.skew(Double.parseDouble(option[1]));
+                case "badRecordRate" -> generator.badRecordRate(Double.parseDouble(option[1]));
+                case "seed" -> generator.seed(Long.parseLong(option[1]));
+                default -> throw new IllegalArgumentException("Unknown option: " + option[0]);
+            }
+        }
+
+        long started = System.nanoTime();
+        Result result = generator.write(Paths.get(args[0]));
+        System.out.printf("Wrote %,d rows (%,d bad) to %s in %d ms%n", result.rows(), result.badRecords(),
+                result.file().toAbsolutePath(), (System.nanoTime() - started) / 1_000_000);
+    }
+}
@@ -0,0 +1,14 @@
+-- H2 용 roaming_status 스키마. db/migration/postgresql 의 V1~V3 과 같은 컬럼, id 기본값(시퀀스), 유니크 인덱스를 가진다.
+CREATE SEQUENCE roaming_status_seq INCREMENT BY 500;
+
+CREATE TABLE roaming_status (
+    id         BIGINT       DEFAULT NEXT VALUE FOR roaming_status_seq PRIMARY KEY,
+    user_id    BIGINT       NOT NULL,
+    device_id  VARCHAR(50)  NOT NULL,
+    location   VARCHAR(100),
+    timestamp  TIMESTAMP(6) NOT NULL,
+    status     VARCHAR(255) NOT NULL CHECK (status IN ('CONNECTED', 'DISCONNECTED', 'ROAMING')),
+    created_at TIMESTAMP(6)
+);
+
+CREATE UNIQUE INDEX ux_roaming_status_device_timestamp ON roaming_status (device_id, timestamp);